@@ -38,7 +38,10 @@ java -Xmx16m \
   -jar build/libs/poi-benchmark-jmh.jar \
   -o build/reports/jmh/human.txt \
   -rf JSON \
-  -rff build/reports/jmh/results.json >> benchmark.log 2>&1 && \
+  -rff build/reports/jmh/results.json \
+  -prof org.apache.poi.benchmark.suite.SecondaryMetricsProfiler \
+  -e ShardedTestBenchmarks \
+  'org\.apache\.poi\.benchmark\.suite\.' >> benchmark.log 2>&1 && \
 ./gradlew ${GRADLE_CMD} publishResults processResults >> benchmark.log 2>&1
 RET=$?
 if [ ${RET} -ne 0 ]; then
@@ -0,0 +1,81 @@
+package org.apache.poi.benchmark.results;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Preconditions;
+import org.apache.commons.io.filefilter.SuffixFileFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading all files in the "results" directory via binding to
+ * generic maps with the streaming {@link JmhResultParser}.
+ *
+ * This is not part of the nightly benchmark-run, start it manually via
+ *
+ *      java -jar build/libs/poi-benchmark-jmh.jar ResultsParsingBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class ResultsParsingBenchmark {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private File[] files;
+
+    @Setup
+    public void setUp() {
+        File resultsDir = new File("results");
+        files = resultsDir.listFiles((FilenameFilter) new SuffixFileFilter("-results.json"));
+        Preconditions.checkNotNull(files, "Directory %s does not exist",
+                resultsDir.getAbsolutePath());
+    }
+
+    @Benchmark
+    public void treeBinding(Blackhole blackhole) throws IOException {
+        for (File file : files) {
+            //noinspection unchecked
+            Map<String, Object>[] userData = mapper.readValue(file, Map[].class);
+            for (Map<String, Object> data : userData) {
+                //noinspection unchecked
+                Map<String, Object> primaryMetric = (Map<String, Object>) data.get("primaryMetric");
+
+                blackhole.consume(data.get("benchmark").toString());
+                blackhole.consume(Double.parseDouble(primaryMetric.get("score").toString()));
+            }
+        }
+    }
+
+    @Benchmark
+    public void streaming(Blackhole blackhole) throws IOException {
+        JmhResultParser parser = new JmhResultParser();
+        for (File file : files) {
+            blackhole.consume(parser.parse(file));
+        }
+    }
+
+    @Benchmark
+    public void streamingWithSecondaryMetrics(Blackhole blackhole) throws IOException {
+        JmhResultParser parser = new JmhResultParser(true);
+        for (File file : files) {
+            blackhole.consume(parser.parse(file));
+        }
+    }
+}
@@ -6,7 +6,16 @@ import org.apache.commons.exec.ExecuteException;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.AndFileFilter;
 import org.apache.commons.io.filefilter.NotFileFilter;
+import org.apache.commons.io.filefilter.PrefixFileFilter;
 import org.apache.commons.io.filefilter.SuffixFileFilter;
+import org.apache.commons.io.filefilter.TrueFileFilter;
+import org.apache.poi.benchmark.results.TestTimings;
+import org.apache.poi.benchmark.source.SnapshotCopy;
+import org.apache.poi.benchmark.source.SourceProvider;
+import org.apache.poi.benchmark.source.SvnCheckout;
+import org.apache.poi.benchmark.source.SvnMirror;
+import org.apache.poi.benchmark.util.GcLogSummary;
+import org.apache.poi.benchmark.util.ProcessTreeSampler;
 import org.apache.poi.benchmark.util.TailLogOutputStream;
 import org.dstadler.commons.arrays.ArrayUtils;
 import org.dstadler.commons.exec.ExecutionHelper;
@@ -19,6 +28,8 @@ import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.BenchmarkParams;
 
 import java.io.File;
 import java.io.FileFilter;
@@ -27,9 +38,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Handler;
 import java.util.logging.Level;
@@ -56,6 +73,26 @@ public abstract class BaseBenchmark {
 
     private static final int TAIL_LINES = 100;
 
+    // how often the processes started by the benchmarks are sampled
+    private static final long SAMPLE_INTERVAL = 500;
+
+    // write GC logs and JFR recordings of all JVMs started by the benchmarks
+    private static final boolean PROFILE = Boolean.getBoolean("poi.benchmark.profile");
+    private static final File PROFILE_DIR = new File("build/profile");
+
+    // files in this directory are copied to the results by PublishResults
+    private static final File REPORTS_DIR = new File("build/reports/jmh");
+
+    // the heap of the test-JVMs of all shards of the integration-tests together in MB
+    private static final int SHARD_MEMORY_MB = Integer.getInteger("poi.benchmark.shardMemory", 2048);
+    private static final String SHARDS_DIR = "poi-integration/build/shards";
+
+    // where the sources are taken from, the same instance is used for all benchmarks of one run
+    private static final SourceProvider SOURCES = createSourceProvider();
+
+    // edited by the incremental build benchmarks, reverted via revertLocalChanges()
+    private static final String EDITED_FILE = "poi/src/main/java/org/apache/poi/util/IOUtils.java";
+
     static {
         // set up logging configuration
         configureLoggingFramework();
@@ -65,6 +102,11 @@ public abstract class BaseBenchmark {
 
     protected final File srcDir = new File("sources");
 
+    private ProcessTreeSampler sampler;
+    private File profileDir;
+
+    private GradleDaemon gradleDaemon;
+
     private static void configureLoggingFramework() {
         try {
             LoggerFactory.sendCommonsLogToJDKLog();
@@ -88,48 +130,142 @@ public abstract class BaseBenchmark {
         }
     }
 
+    /**
+     * By default the sources are checked out or updated from the repository of Apache POI,
+     * "-Dpoi.benchmark.svnMirror=file:///..." uses a local mirror instead and
+     * "-Dpoi.benchmark.svnMirrorSync=true" runs "svnsync" on the mirror once per run.
+     *
+     * With "-Dpoi.benchmark.snapshot=<dir>" the working copy in this directory is updated
+     * once per run and copied for every benchmark.
+     *
+     * The revision is resolved when the sources are prepared for the first benchmark and used
+     * for all others, "-Dpoi.benchmark.svnRevision=<rev>" checks out the given revision instead.
+     */
+    private static SourceProvider createSourceProvider() {
+        String mirror = System.getProperty("poi.benchmark.svnMirror");
+        long revision = Long.getLong("poi.benchmark.svnRevision", -1);
+        SourceProvider provider = mirror == null ?
+                new SvnCheckout(System.getProperty("poi.benchmark.svnUrl", SvnCheckout.POI_TRUNK), revision, ONE_MINUTE) :
+                new SvnMirror(mirror, revision, Boolean.getBoolean("poi.benchmark.svnMirrorSync"), TEN_MINUTES);
+
+        String snapshot = System.getProperty("poi.benchmark.snapshot");
+        return snapshot == null ? provider :
+                new SnapshotCopy(provider, new File(snapshot), SnapshotCopy.DEFAULT_LINKED);
+    }
+
     @SuppressWarnings("unused")
     @Setup
-    public final void baseSetUp() throws IOException {
-        // ensure directories exist
-        if(!srcDir.exists()) {
-            Preconditions.checkState(srcDir.mkdir(), "Could not create directory " + srcDir.getAbsolutePath());
-        }
+    public final void baseSetUp(GradleDaemon gradleDaemon) throws IOException {
+        this.gradleDaemon = gradleDaemon;
 
-        // clean up checkout
-        if(new File(srcDir, ".svn").exists()) {
-            svnCleanup();
-        }
+        long start = System.currentTimeMillis();
+        SOURCES.prepare(srcDir);
+        log.info("Prepared sources from " + SOURCES + " in " + (System.currentTimeMillis() - start) + "ms");
+        SecondaryMetrics.setRevision(SOURCES.getRevision());
 
-        svnCheckout();
 		//patchTestExecution();
-		svnStatus();
         printEnvironment();
+        startGradleDaemon();
+    }
+
+    private void startGradleDaemon() throws IOException {
+        if (!gradleDaemon.isEnabled() || gradleDaemon.isStarted()) {
+            return;
+        }
+
+        // the first invocation with "--daemon" starts the daemon which is then re-used
+        long start = System.currentTimeMillis();
+        runGradleTarget("help", TEN_MINUTES);
+        gradleDaemon.started(srcDir);
+
+        log.info("Started Gradle daemon in " + (System.currentTimeMillis() - start) + "ms");
     }
 
-	private void svnCleanup() throws IOException {
-        runSVN("cleanup");
+    /**
+     * Start sampling and profiling the processes after the setup of the trial
+     * is done, so only the ones started by the benchmark-method are included.
+     */
+    @SuppressWarnings("unused")
+    @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+    public final void iterationSetUp(BenchmarkParams params) throws IOException {
+        if (PROFILE) {
+            startProfiling(params.getBenchmark());
+        }
+
+        if (ProcessTreeSampler.isSupported()) {
+            sampler = ProcessTreeSampler.start(SAMPLE_INTERVAL);
+        }
     }
 
-    private void svnCheckout() throws IOException {
-        // svn checkout/update
-        try (TailLogOutputStream out = new TailLogOutputStream(TAIL_LINES)) {
-            try {
-                CommandLine cmd = new CommandLine("svn");
-                if (new File(srcDir, ".svn").exists()) {
-                    cmd.addArgument("up");
-                    ExecutionHelper.getCommandResultIntoStream(cmd, srcDir, 0, ONE_MINUTE, out, ENVIRONMENT);
-                } else {
-                    cmd.addArgument("co");
-                    cmd.addArgument("https://svn.apache.org/repos/asf/poi/trunk");
-                    cmd.addArgument(srcDir.getName());
-                    ExecutionHelper.getCommandResultIntoStream(cmd, srcDir.getParentFile(), 0, ONE_MINUTE,
-                            out, ENVIRONMENT);
-                }
-            } catch (IOException e) {
-                throw new IOException("Log-Tail: \n" + String.join("\n    ", out.getLines()), e);
-            }
+    @SuppressWarnings("unused")
+    @TearDown(org.openjdk.jmh.annotations.Level.Iteration)
+    public final void iterationTearDown() throws IOException {
+        stopSampling();
+
+        if (profileDir != null) {
+            stopProfiling();
+        }
+    }
+
+    private void startProfiling(String benchmark) throws IOException {
+        profileDir = new File(PROFILE_DIR, benchmark).getAbsoluteFile();
+        FileUtils.deleteDirectory(profileDir);
+        FileUtils.forceMkdir(profileDir);
+
+        // applied to every JVM which is started, including the ones started by Gradle;
+        // JFR creates one file per JVM in the directory
+        ENVIRONMENT.put("JAVA_TOOL_OPTIONS",
+                "-Xlog:gc*:file=" + profileDir + "/gc-%p.log " +
+                "-XX:StartFlightRecording=dumponexit=true,filename=" + profileDir);
+    }
+
+    private void stopProfiling() throws IOException {
+        ENVIRONMENT.remove("JAVA_TOOL_OPTIONS");
+
+        File[] logs = profileDir.listFiles((FileFilter) new PrefixFileFilter("gc-"));
+        Preconditions.checkNotNull(logs, "Directory %s does not exist", profileDir);
+
+        GcLogSummary summary = new GcLogSummary();
+        for (File gcLog : logs) {
+            summary.addLog(gcLog);
+        }
+
+        log.info("GC summary of " + logs.length + " JVMs: " + summary + ", logs and recordings are in " + profileDir);
+
+        SecondaryMetrics.record("gc.allocated", toMB(summary.getAllocatedBytes()), "MB");
+        SecondaryMetrics.record("gc.heap.max", toMB(summary.getMaxHeapBytes()), "MB");
+        SecondaryMetrics.record("gc.pause.total", summary.getPauseMillis(), "ms");
+        SecondaryMetrics.record("gc.pause.count", summary.getPauseCount(), "#");
+        SecondaryMetrics.record("gc.jvms", summary.getJvmCount(), "#");
+
+        profileDir = null;
+    }
+
+    private void stopSampling() throws IOException {
+        if (sampler == null) {
+            return;
+        }
+
+        ProcessTreeSampler.Usage usage = sampler.stop();
+        sampler = null;
+
+        log.info("Resource usage of child processes: " + usage);
+
+        SecondaryMetrics.record("proc.cpu.user", usage.getCpuUserMillis(), "ms");
+        SecondaryMetrics.record("proc.cpu.sys", usage.getCpuSystemMillis(), "ms");
+        SecondaryMetrics.record("proc.rss.peak", toMB(usage.getPeakRssBytes()), "MB");
+        SecondaryMetrics.record("proc.rss.maxProcess", toMB(usage.getMaxProcessRssBytes()), "MB");
+        if (usage.getReadBytes() != -1) {
+            SecondaryMetrics.record("proc.io.read", toMB(usage.getReadBytes()), "MB");
+            SecondaryMetrics.record("proc.io.write", toMB(usage.getWriteBytes()), "MB");
         }
+        SecondaryMetrics.record("proc.ctxsw.voluntary", usage.getVoluntaryContextSwitches(), "#");
+        SecondaryMetrics.record("proc.ctxsw.involuntary", usage.getInvoluntaryContextSwitches(), "#");
+        SecondaryMetrics.record("proc.processes", usage.getProcessCount(), "#");
+    }
+
+    private static double toMB(long bytes) {
+        return bytes / 1024.0 / 1024.0;
     }
 
 	private void patchTestExecution() throws IOException {
@@ -168,11 +304,13 @@ public abstract class BaseBenchmark {
 		}
 	}
 
-    private void svnStatus() throws IOException {
-        runSVN("status");
+    protected void clean() throws IOException {
+        revertLocalChanges();
+
+        runGradleTarget("clean", TEN_MINUTES);
     }
 
-    protected void clean() throws IOException {
+    protected void revertLocalChanges() throws IOException {
 		// these files are modified locally, we want to avoid conflicts
 		runSVN("revert",
 				"poi-examples/src/main/java9/module-info.class",
@@ -205,9 +343,39 @@ public abstract class BaseBenchmark {
 
                 "src/resources/ooxml-lite-report.clazz",
                 "src/resources/ooxml-lite-report.xsb",
-				"build.gradle");
+				"build.gradle",
+
+                EDITED_FILE);
+    }
 
-		runGradleTarget("clean", TEN_MINUTES);
+    /**
+     * Undo the change of {@link #editSource(boolean)}.
+     */
+    protected void revertEditedSource() throws IOException {
+        runSVN("revert", EDITED_FILE);
+    }
+
+    /**
+     * Add a member to one widely used class of the module "poi", the same edit is
+     * applied on every run as the file is reverted before, see {@link #revertEditedSource()}.
+     *
+     * @param abiBreaking If true, a public method is added, so all classes which depend
+     *      on the module need to be compiled again, otherwise a private field is added,
+     *      which only requires compiling the class itself
+     */
+    protected void editSource(boolean abiBreaking) throws IOException {
+        File file = new File(srcDir, EDITED_FILE);
+        String content = FileUtils.readFileToString(file, "UTF-8");
+
+        int end = content.lastIndexOf('}');
+        Preconditions.checkState(end != -1, "Did not find the end of the class in %s", file);
+
+        String member = abiBreaking ?
+                "    public static void benchmarkEdit() {\n    }\n" :
+                "    private static final Object BENCHMARK_EDIT = new Object();\n";
+        Preconditions.checkState(!content.contains("BENCHMARK_EDIT") && !content.contains("benchmarkEdit()"),
+                "%s was already edited, it needs to be reverted before each edit", file);
+        FileUtils.writeStringToFile(file, content.substring(0, end) + member + content.substring(end), "UTF-8");
     }
 
     private void printEnvironment() throws IOException {
@@ -224,22 +392,47 @@ public abstract class BaseBenchmark {
         }
     }
 
+    /**
+     * Start Gradle without a daemon and only configure the build, i.e. the
+     * overhead which is included in every target when no daemon is used.
+     */
+    protected void gradleStartup() throws IOException {
+        runGradleTarget(false, "help", TEN_MINUTES);
+    }
+
     protected void compileAll() throws IOException {
         runGradleTarget("compileJava", ONE_HOUR,
 				// let's run more than one target in one go
 				"compileTestJava",  "getDeps");
     }
 
+    /**
+     * Same as {@link #compileAll()}, but with the local build cache and the configuration
+     * cache, problems with the configuration cache are only reported as warnings.
+     */
+    protected void compileAllCached() throws IOException {
+        runGradleTarget("compileJava", ONE_HOUR,
+                "compileTestJava", "getDeps",
+                "--build-cache", "--configuration-cache", "--configuration-cache-problems=warn");
+    }
+
+    /**
+     * Remove the build-outputs, but keep the caches of Gradle.
+     */
+    protected void gradleClean() throws IOException {
+        runGradleTarget("clean", TEN_MINUTES);
+    }
+
     protected void testMain() throws IOException {
-        runGradleTarget(":poi:check", ONE_HOUR);
+        runTests("poi", ONE_HOUR);
     }
 
     protected void testScratchpad() throws IOException {
-        runGradleTarget(":poi-scratchpad:check", ONE_HOUR);
+        runTests("poi-scratchpad", ONE_HOUR);
     }
 
     protected void testOOXML() throws IOException {
-        runGradleTarget(":poi-ooxml:check", ONE_HOUR);
+        runTests("poi-ooxml", ONE_HOUR);
     }
 
     protected void testOOXMLLite() throws IOException {
@@ -252,22 +445,230 @@ public abstract class BaseBenchmark {
             }
         }
 
-        runGradleTarget(":poi-ooxml-lite:check", ONE_HOUR);
+        runTests("poi-ooxml-lite", ONE_HOUR);
     }
 
     protected void testExcelant() throws IOException {
-        runGradleTarget(":poi-excelant:check", ONE_HOUR);
+        runTests("poi-excelant", ONE_HOUR);
     }
 
     protected void testIntegration() throws IOException {
-        runGradleTarget(":poi-integration:check", TWO_HOURS);
+        runTests("poi-integration", TWO_HOURS);
+    }
+
+    /**
+     * Build everything which is needed by the integration-tests, so the shards do not
+     * build the same files concurrently. The test-task is disabled, but Gradle still
+     * runs the tasks which it depends on.
+     *
+     * The other modules are built once with the default project cache-directory. Each
+     * shard uses its own build-directory for the module "poi-integration" and its own
+     * project cache-directory, so the concurrent Gradle processes do not share the
+     * temporary files of the test-task or the locks in ".gradle". The shards are run
+     * with "--no-rebuild", so they only compile the test-classes of "poi-integration"
+     * into their build-directory here and do not check the outputs of the other modules
+     * against their own task history.
+     */
+    protected void prepareIntegrationShards(int shards) throws IOException {
+        File shardsDir = new File(srcDir, SHARDS_DIR).getAbsoluteFile();
+
+        File initScript = new File(shardsDir, "prepare.gradle");
+        writeIntegrationInitScript(initScript, null, "enabled = false");
+        runGradleTarget(false, ":poi-integration:test", ONE_HOUR, "--init-script", initScript.getPath());
+
+        for (int shard = 0; shard < shards; shard++) {
+            File shardScript = new File(shardsDir, "prepare-" + shard + ".gradle");
+            writeIntegrationInitScript(shardScript, getShardBuildDir(shardsDir, shard), "enabled = false");
+
+            runGradleTarget(false, ":poi-integration:test", ONE_HOUR, "--init-script", shardScript.getPath(),
+                    "--project-cache-dir", getShardCacheDir(shardsDir, shard).getPath(), "--no-rebuild");
+        }
+    }
+
+    /**
+     * Run the integration-tests in the given number of concurrent Gradle processes, each
+     * one only runs the tests which are assigned to its shard by {@link ShardCondition}.
+     *
+     * Only the tests are run, not the other tasks of "check". Every shard uses separate
+     * directories for the build, reports and temporary files, see {@link #prepareIntegrationShards(int)},
+     * and gets an equal part of the memory which is configured via "-Dpoi.benchmark.shardMemory=<MB>".
+     */
+    protected void testIntegrationSharded(int shards) throws IOException {
+        Preconditions.checkArgument(shards > 0, "Need at least one shard, but had %s", shards);
+        int heapMB = SHARD_MEMORY_MB / shards;
+        Preconditions.checkState(heapMB >= 256,
+                "Memory of %sMB is not enough for %s shards", SHARD_MEMORY_MB, shards);
+
+        File shardsDir = new File(srcDir, SHARDS_DIR).getAbsoluteFile();
+        File classesDir = new File(shardsDir, "classes");
+        copyShardCondition(classesDir);
+
+        List<Future<Long>> results = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(shards);
+        try {
+            for (int shard = 0; shard < shards; shard++) {
+                File shardDir = new File(shardsDir, "shard-" + shard);
+                FileUtils.deleteDirectory(shardDir);
+                FileUtils.forceMkdir(new File(shardDir, "tmp"));
+
+                // the constants of ShardCondition are inlined by the compiler, so JUnit is not loaded here
+                File initScript = new File(shardDir, "shard.gradle");
+                writeIntegrationInitScript(initScript, getShardBuildDir(shardsDir, shard),
+                        "classpath += files('" + classesDir + "')",
+                        "systemProperty 'junit.jupiter.extensions.autodetection.enabled', 'true'",
+                        "systemProperty '" + ShardCondition.SHARDS_PROPERTY + "', '" + shards + "'",
+                        "systemProperty '" + ShardCondition.SHARD_PROPERTY + "', '" + shard + "'",
+                        "systemProperty 'java.io.tmpdir', '" + new File(shardDir, "tmp") + "'",
+                        "maxHeapSize = '" + heapMB + "m'",
+                        "maxParallelForks = 1",
+                        "reports.junitXml.outputLocation.set(file('" + new File(shardDir, "test-results") + "'))",
+                        "reports.html.outputLocation.set(file('" + new File(shardDir, "reports") + "'))",
+                        "binaryResultsDirectory.set(file('" + new File(shardDir, "binary") + "'))",
+                        "outputs.upToDateWhen { false }");
+
+                File cacheDir = getShardCacheDir(shardsDir, shard);
+                results.add(executor.submit(() -> {
+                    long start = System.currentTimeMillis();
+                    runGradleTarget(false, ":poi-integration:test", TWO_HOURS,
+                            "--init-script", initScript.getPath(),
+                            "--project-cache-dir", cacheDir.getPath(), "--no-rebuild");
+                    return System.currentTimeMillis() - start;
+                }));
+            }
+
+            // wait for all shards before reporting a failure to not leave processes running
+            long slowest = 0;
+            long fastest = Long.MAX_VALUE;
+            IOException failure = null;
+            for (int shard = 0; shard < shards; shard++) {
+                try {
+                    long duration = results.get(shard).get();
+                    log.info("Shard " + shard + " of " + shards + " took " + duration + "ms");
+
+                    slowest = Math.max(slowest, duration);
+                    fastest = Math.min(fastest, duration);
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = new IOException("Shard " + shard + " of " + shards + " failed", e.getCause());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for shard " + shard, e);
+                }
+            }
+
+            if (failure != null) {
+                throw failure;
+            }
+
+            SecondaryMetrics.record("shard.slowest", slowest, "ms");
+            SecondaryMetrics.record("shard.fastest", fastest, "ms");
+            SecondaryMetrics.record("shard.heap", heapMB, "MB");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void copyShardCondition(File classesDir) throws IOException {
+        try (InputStream stream = BaseBenchmark.class.getResourceAsStream("ShardCondition.class")) {
+            Preconditions.checkNotNull(stream, "Could not find ShardCondition.class");
+            FileUtils.copyInputStreamToFile(stream,
+                    new File(classesDir, "org/apache/poi/benchmark/suite/ShardCondition.class"));
+        }
+
+        // found by JUnit when "junit.jupiter.extensions.autodetection.enabled" is set
+        FileUtils.writeStringToFile(
+                new File(classesDir, "META-INF/services/org.junit.jupiter.api.extension.Extension"),
+                "org.apache.poi.benchmark.suite.ShardCondition\n", "UTF-8");
+    }
+
+    // not below the directory of the shard, which is removed before running the tests
+    private static File getShardBuildDir(File shardsDir, int shard) {
+        return new File(shardsDir, "build-" + shard);
+    }
+
+    private static File getShardCacheDir(File shardsDir, int shard) {
+        return new File(shardsDir, "cache-" + shard);
+    }
+
+    /**
+     * Write a Gradle init-script which moves the build-directory of the integration-tests
+     * and applies the given settings to their test-tasks.
+     *
+     * @param buildDir The build-directory of the integration-tests, null to keep the default
+     */
+    private static void writeIntegrationInitScript(File file, File buildDir, String... settings) throws IOException {
+        StringBuilder script = new StringBuilder();
+        if (buildDir != null) {
+            script.append("gradle.beforeProject { project ->\n" +
+                    "    if (project.path == ':poi-integration') {\n" +
+                    "        project.layout.buildDirectory.set(new File('" + buildDir + "'))\n" +
+                    "    }\n" +
+                    "}\n");
+        }
+        script.append("gradle.projectsEvaluated {\n" +
+                "    gradle.rootProject.project(':poi-integration').tasks.withType(Test).configureEach {\n");
+        for (String setting : settings) {
+            script.append("        ").append(setting).append("\n");
+        }
+        script.append("    }\n}\n");
+
+        FileUtils.writeStringToFile(file, script.toString(), "UTF-8");
+    }
+
+    private void runTests(String module, long timeout) throws IOException {
+        long start = System.currentTimeMillis();
+
+        runGradleTarget(":" + module + ":check", timeout);
+
+        writeTestTimings(module, start);
+    }
+
+    /**
+     * Store the duration of each test-class and test of the module, so slower tests can be
+     * found when the duration of the whole module changes.
+     */
+    private void writeTestTimings(String module, long start) throws IOException {
+        File testResults = new File(srcDir, module + "/build/test-results");
+        if (!testResults.exists()) {
+            log.warning("Did not find test-results for module " + module + " at " + testResults.getAbsolutePath());
+            return;
+        }
+
+        Collection<File> reports = FileUtils.listFiles(testResults,
+                new AndFileFilter(new PrefixFileFilter("TEST-"), new SuffixFileFilter(".xml")),
+                TrueFileFilter.INSTANCE);
+
+        TestTimings timings = new TestTimings(module);
+        int count = 0;
+        for (File report : reports) {
+            // skip reports of earlier runs, e.g. if some test-task was up-to-date,
+            // allow for file-systems which store modification times only in seconds
+            if (report.lastModified() < start / 1000 * 1000) {
+                continue;
+            }
+
+            timings.addReport(report);
+            count++;
+        }
+
+        File file = new File(REPORTS_DIR, "test-timings-" + module + ".json");
+        FileUtils.forceMkdir(REPORTS_DIR);
+        timings.write(file);
+
+        log.info("Wrote durations of " + timings.getClasses().size() + " test-classes from " + count +
+                " of " + reports.size() + " reports to " + file);
     }
 
     private void runGradleTarget(String target, long timeout, String... args) throws IOException {
+        runGradleTarget(gradleDaemon != null && gradleDaemon.isEnabled(), target, timeout, args);
+    }
+
+    private void runGradleTarget(boolean useDaemon, String target, long timeout, String... args) throws IOException {
         try (TailLogOutputStream out = new TailLogOutputStream(TAIL_LINES)) {
             CommandLine cmd = new CommandLine("bash");
             cmd.addArgument("./gradlew");
-            cmd.addArgument("--no-daemon");
+            cmd.addArgument(useDaemon ? "--daemon" : "--no-daemon");
             cmd.addArgument("--console");
             cmd.addArgument("plain");
             cmd.addArgument(target);
@@ -298,6 +699,33 @@ public abstract class BaseBenchmark {
     }
 
     protected void runPOIApplication(@SuppressWarnings("SameParameterValue") String clazz, long timeout, String... args) throws IOException {
+        runJava(getPOIClasspath(false), Collections.emptyList(), clazz, timeout, args);
+    }
+
+    /**
+     * Same as {@link #runPOIApplication(String, long, String...)}, but with a fixed maximum heap,
+     * so the result does not depend on the default heap size of the machine.
+     *
+     * @param maxHeap The value for "-Xmx", e.g. "2g"
+     */
+    protected void runPOIApplication(String clazz, String maxHeap, long timeout, String... args) throws IOException {
+        runJava(getPOIClasspath(false), Collections.singletonList("-Xmx" + maxHeap), clazz, timeout, args);
+    }
+
+    /**
+     * Build the jar of "poi-ooxml-lite", which only contains the schema classes
+     * that are used by the tests of Apache POI.
+     */
+    protected void compileOOXMLLite() throws IOException {
+        runGradleTarget(":poi-ooxml-lite:jar", ONE_HOUR);
+    }
+
+    /**
+     * @param lite If true, the schemas of "poi-ooxml-full" are replaced by the jar of
+     *      "poi-ooxml-lite", see {@link #compileOOXMLLite()}
+     * @return The jar-files and directories with classes of Apache POI and its dependencies
+     */
+    protected List<String> getPOIClasspath(boolean lite) {
         List<String> jars = new ArrayList<>();
 
 		addJarsFromDir(jars, "poi/build/runtime");
@@ -327,14 +755,33 @@ public abstract class BaseBenchmark {
         addClassesDir(jars, "poi-excelant/build");
         addClassesDir(jars, "poi-integration/build");
         addClassesDir(jars, "poi-ooxml/build");
-        addClassesDir(jars, "poi-ooxml-full/build");
+        if (lite) {
+            // the runtime-directories may also contain the jar of the full schemas
+            jars.removeIf(jar -> new File(jar).getName().startsWith("poi-ooxml-full"));
+            addLiteJar(jars);
+        } else {
+            addClassesDir(jars, "poi-ooxml-full/build");
+        }
         addClassesDir(jars, "poi-scratchpad/build");
 
+        return jars;
+    }
+
+    /**
+     * Run a Java application in a separate JVM in the directory of the sources.
+     *
+     * @param jvmArgs Additional options for the JVM, e.g. "-Xmx2g"
+     * @return The last lines of the output of the application
+     */
+    protected Collection<String> runJava(List<String> classpath, List<String> jvmArgs, String clazz, long timeout, String... args) throws IOException {
         try (TailLogOutputStream out = new TailLogOutputStream(TAIL_LINES)) {
             CommandLine cmd = new CommandLine("java");
 			cmd.addArgument("-Djava.io.tmpdir=build");
+            for (String jvmArg : jvmArgs) {
+                cmd.addArgument(jvmArg);
+            }
             cmd.addArgument("-cp");
-            cmd.addArgument(ArrayUtils.toString(jars.toArray(), ":", "", ""));
+            cmd.addArgument(ArrayUtils.toString(classpath.toArray(), ":", "", ""));
             cmd.addArgument(clazz);
             cmd.addArguments(args);
 
@@ -345,9 +792,23 @@ public abstract class BaseBenchmark {
                         " and args: " + Arrays.toString(args), e);
                 throw new IOException("Log-Tail: \n" + String.join("\n    ", out.getLines()), e);
             }
+
+            return new ArrayList<>(out.getLines());
         }
     }
 
+    private void addLiteJar(List<String> jars) {
+        File[] files = new File(srcDir, "poi-ooxml-lite/build/libs").listFiles((FileFilter)
+                new AndFileFilter(
+                    new PrefixFileFilter("poi-ooxml-lite"),
+                    new SuffixFileFilter(".jar"),
+                    new NotFileFilter(new SuffixFileFilter(new String[] {"-sources.jar", "-javadoc.jar"}))));
+        Preconditions.checkState(files != null && files.length == 1,
+                "Expected one jar of poi-ooxml-lite in %s, but had %s, it is built via compileOOXMLLite()",
+                new File(srcDir, "poi-ooxml-lite/build/libs").getAbsolutePath(), files == null ? null : Arrays.toString(files));
+        jars.add(files[0].getAbsolutePath());
+    }
+
     @SuppressWarnings("SameParameterValue")
     private void addClassesDir(List<String> jars, String dir) {
         File[] files = new File(srcDir, dir).listFiles((FileFilter)
@@ -0,0 +1,99 @@
+package org.apache.poi.benchmark.suite;
+
+import com.google.common.base.Preconditions;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts a new JVM which writes or reads one cell via the {@link ColdStartProbe}, this
+ * is dominated by loading the classes of Apache POI and for XSSF the schema types of
+ * XMLBeans. It matters for short-lived command line tools and conversions more than
+ * the throughput after warmup.
+ *
+ * For XSSF the full schemas of "poi-ooxml-full" are compared with the jar of "poi-ooxml-lite",
+ * which only contains the schema types used by the tests of Apache POI, HSSF does not load
+ * any schemas, so it only runs with the full classpath.
+ *
+ * The score is the time of the whole process, the time until the first cell is written
+ * or read since the start of the JVM and since the start of main() as well as the number
+ * of loaded classes are reported as secondary metrics.
+ */
+public abstract class ColdStartBenchmark extends BaseBenchmark {
+    private static final long TIMEOUT = TimeUnit.MINUTES.toMillis(10);
+
+    // relative to the directory of the sources, where the JVM is started
+    private static final String PROBE_DIR = "build/cold-start";
+
+    private String action;
+    private String format;
+    private List<String> classpath;
+    private String file;
+
+    /**
+     * @param action "write" or "read"
+     * @param format "HSSF" or "XSSF"
+     * @param lite If the jar of "poi-ooxml-lite" is used instead of "poi-ooxml-full"
+     */
+    protected void prepareProbe(String action, String format, boolean lite) throws IOException {
+        this.action = action;
+        this.format = format;
+
+        compileAll();
+        if (lite) {
+            compileOOXMLLite();
+        }
+
+        copyProbe();
+
+        classpath = getPOIClasspath(lite);
+        classpath.add(new File(srcDir, PROBE_DIR).getAbsolutePath());
+
+        String extension = "HSSF".equals(format) ? "xls" : "xlsx";
+        file = PROBE_DIR + "/" + action + "." + extension;
+        if ("read".equals(action)) {
+            List<String> full = getPOIClasspath(false);
+            full.add(new File(srcDir, PROBE_DIR).getAbsolutePath());
+            runJava(full, Collections.emptyList(), ColdStartProbe.class.getName(), TIMEOUT, "write", format, file);
+        }
+    }
+
+    /**
+     * Only the class-file of the probe is put on the classpath of the new JVM, the
+     * jar of the benchmarks would add other versions of the dependencies of Apache POI.
+     */
+    private void copyProbe() throws IOException {
+        String name = ColdStartProbe.class.getSimpleName() + ".class";
+        File target = new File(srcDir, PROBE_DIR + "/" + ColdStartProbe.class.getPackage().getName().replace('.', '/') + "/" + name);
+        try (InputStream stream = ColdStartProbe.class.getResourceAsStream(name)) {
+            Preconditions.checkNotNull(stream, "Could not find %s", name);
+            FileUtils.copyInputStreamToFile(stream, target);
+        }
+    }
+
+    protected void runProbe() throws IOException {
+        Collection<String> lines = runJava(classpath, Collections.emptyList(), ColdStartProbe.class.getName(), TIMEOUT, action, format, file);
+
+        int count = 0;
+        for (String line : lines) {
+            // e.g. "coldStart.firstCell=412 ms", the lines may have a prefix from the logging
+            int start = line.indexOf(ColdStartProbe.PREFIX);
+            if (start == -1) {
+                continue;
+            }
+
+            String[] metric = line.substring(start).split("[= ]");
+            Preconditions.checkState(metric.length == 3, "Invalid output of the probe: %s", line);
+            SecondaryMetrics.record(metric[0], Double.parseDouble(metric[1]), metric[2]);
+            count++;
+        }
+
+        Preconditions.checkState(count > 0, "No results in the output of the probe: %s", lines);
+    }
+}
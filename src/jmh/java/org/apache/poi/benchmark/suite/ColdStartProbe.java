@@ -0,0 +1,102 @@
+package org.apache.poi.benchmark.suite;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+
+/**
+ * Writes or reads one cell in a new JVM, this is started by the {@link ColdStartBenchmark}
+ * with only this class and Apache POI on the classpath.
+ *
+ * Apache POI is only accessed via reflection, so this can be compiled without it. The class
+ * must not use lambdas or nested classes, as only this class-file is copied for the new JVM.
+ *
+ * The results are printed as lines "coldStart.name=value unit".
+ */
+public final class ColdStartProbe {
+    static final String PREFIX = "coldStart.";
+
+    static final String VALUE = "first cell";
+
+    private ColdStartProbe() {
+    }
+
+    /**
+     * @param args "write" or "read", "HSSF" or "XSSF" and the file
+     */
+    public static void main(String[] args) throws Exception {
+        long start = System.nanoTime();
+
+        if (args.length != 3) {
+            throw new IllegalArgumentException("Usage: ColdStartProbe write|read HSSF|XSSF <file>");
+        }
+
+        final Closeable workbook;
+        if ("write".equals(args[0])) {
+            workbook = write(args[1], new File(args[2]));
+        } else if ("read".equals(args[0])) {
+            workbook = read(new File(args[2]));
+        } else {
+            throw new IllegalArgumentException("Unknown action: " + args[0]);
+        }
+        long firstCell = System.nanoTime();
+
+        // the management beans load classes themselves, so the uptime is corrected by the time since the first cell
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime() - (System.nanoTime() - firstCell) / 1_000_000;
+        int classes = ManagementFactory.getClassLoadingMXBean().getLoadedClassCount();
+
+        System.out.println(PREFIX + "firstCell=" + uptime + " ms");
+        System.out.println(PREFIX + "main=" + (firstCell - start) / 1_000_000 + " ms");
+        System.out.println(PREFIX + "classes=" + classes + " #");
+
+        workbook.close();
+    }
+
+    private static Closeable write(String format, File file) throws Exception {
+        final String clazz;
+        switch (format) {
+            case "HSSF":
+                clazz = "org.apache.poi.hssf.usermodel.HSSFWorkbook";
+                break;
+            case "XSSF":
+                clazz = "org.apache.poi.xssf.usermodel.XSSFWorkbook";
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown format: " + format);
+        }
+
+        Object workbook = Class.forName(clazz).getConstructor().newInstance();
+        Object sheet = method("Workbook", "createSheet", String.class).invoke(workbook, "Sheet1");
+        Object row = method("Sheet", "createRow", int.class).invoke(sheet, 0);
+        Object cell = method("Row", "createCell", int.class).invoke(row, 0);
+        method("Cell", "setCellValue", String.class).invoke(cell, VALUE);
+
+        try (OutputStream out = new FileOutputStream(file)) {
+            method("Workbook", "write", OutputStream.class).invoke(workbook, out);
+        }
+
+        return (Closeable) workbook;
+    }
+
+    private static Closeable read(File file) throws Exception {
+        // read-only to not write back the file when closing the workbook
+        Object workbook = method("WorkbookFactory", "create", File.class, String.class, boolean.class)
+                .invoke(null, file, null, true);
+        Object sheet = method("Workbook", "getSheetAt", int.class).invoke(workbook, 0);
+        Object row = method("Sheet", "getRow", int.class).invoke(sheet, 0);
+        Object cell = method("Row", "getCell", int.class).invoke(row, 0);
+        Object value = method("Cell", "getStringCellValue").invoke(cell);
+        if (!VALUE.equals(value)) {
+            throw new IllegalStateException("Expected '" + VALUE + "' in the first cell of " + file + ", but had '" + value + "'");
+        }
+
+        return (Closeable) workbook;
+    }
+
+    private static Method method(String clazz, String name, Class<?>... parameterTypes) throws Exception {
+        return Class.forName("org.apache.poi.ss.usermodel." + clazz).getMethod(name, parameterTypes);
+    }
+}
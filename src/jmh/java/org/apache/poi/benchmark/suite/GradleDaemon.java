@@ -0,0 +1,83 @@
+package org.apache.poi.benchmark.suite;
+
+import org.apache.commons.exec.CommandLine;
+import org.apache.commons.exec.ExecuteException;
+import org.apache.poi.benchmark.util.TailLogOutputStream;
+import org.dstadler.commons.exec.ExecutionHelper;
+import org.dstadler.commons.logging.jdk.LoggerFactory;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Optionally keeps one Gradle daemon running for all Gradle invocations of a
+ * benchmark, so the measured time does not include starting and warming up
+ * the Gradle JVM for every target.
+ *
+ * Enable it with "-Dpoi.benchmark.gradleDaemon=true", by default Gradle is
+ * run with "--no-daemon" as before. The daemon is started during the setup
+ * of the benchmark and stopped after the benchmark is finished.
+ *
+ * Note: the daemon is not a child process of the benchmark, so its
+ * resource usage is not included in the secondary metrics.
+ */
+@State(Scope.Benchmark)
+public class GradleDaemon {
+    private static final Logger log = LoggerFactory.make();
+
+    private static final boolean ENABLED = Boolean.getBoolean("poi.benchmark.gradleDaemon");
+
+    private static final long ONE_MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    private File srcDir;
+
+    /**
+     * @return true if Gradle should be run with a daemon which is kept running
+     */
+    public boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * @return true if the daemon was started already
+     */
+    boolean isStarted() {
+        return srcDir != null;
+    }
+
+    /**
+     * Remember that a daemon was started so it is stopped at the end.
+     */
+    void started(File srcDir) {
+        this.srcDir = srcDir;
+    }
+
+    @SuppressWarnings("unused")
+    @TearDown
+    public void tearDown() throws IOException {
+        if (srcDir == null) {
+            return;
+        }
+
+        try (TailLogOutputStream out = new TailLogOutputStream(100)) {
+            CommandLine cmd = new CommandLine("bash");
+            cmd.addArgument("./gradlew");
+            cmd.addArgument("--stop");
+            try {
+                ExecutionHelper.getCommandResultIntoStream(cmd, srcDir, 0, ONE_MINUTE, out, Collections.emptyMap());
+            } catch (ExecuteException e) {
+                log.log(Level.WARNING, "Failed to stop the Gradle daemon", e);
+                throw new IOException("Log-Tail: \n" + String.join("\n    ", out.getLines()), e);
+            }
+        } finally {
+            srcDir = null;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.apache.poi.benchmark.suite;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.io.IOException;
+
+/**
+ * Measures the startup of Gradle without a daemon, i.e. the overhead which is
+ * included in every Gradle target of the other benchmarks.
+ *
+ * This does not clean the build in the setup, the configuration of the build
+ * does not depend on previous outputs and cleaning would only make the build
+ * which runs after this slower.
+ */
+public class GradleStartupBenchmarks extends BaseBenchmark {
+    @Benchmark
+    public void benchmarkGradleStartup() throws IOException {
+        gradleStartup();
+    }
+}
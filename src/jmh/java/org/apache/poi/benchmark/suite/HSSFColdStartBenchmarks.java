@@ -0,0 +1,25 @@
+package org.apache.poi.benchmark.suite;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.io.IOException;
+
+/**
+ * HSSF does not use the schemas of OOXML, so this only runs with the full classpath.
+ */
+public class HSSFColdStartBenchmarks extends ColdStartBenchmark {
+    @Param({"write", "read"})
+    public String action;
+
+    @Setup
+    public void setUp() throws IOException {
+        prepareProbe(action, "HSSF", false);
+    }
+
+    @Benchmark
+    public void benchmark() throws IOException {
+        runProbe();
+    }
+}
@@ -0,0 +1,24 @@
+package org.apache.poi.benchmark.suite;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+import java.io.IOException;
+
+/**
+ * HSSF is limited to 65536 rows by the file-format, so the sweep stays below this.
+ *
+ * The full sweep is run via "-p rows=10000,30000,65000 -p cols=5,20,200".
+ */
+public class HSSFScalingBenchmarks extends SSScalingBenchmark {
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"20"})
+    public int cols;
+
+    @Benchmark
+    public void benchmark() throws IOException {
+        runSSPerformance("HSSF", rows, cols);
+    }
+}
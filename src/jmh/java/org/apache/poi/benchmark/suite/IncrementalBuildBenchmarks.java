@@ -0,0 +1,81 @@
+package org.apache.poi.benchmark.suite;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.io.IOException;
+
+/**
+ * Builds which are done by developers and CI most of the time: everything was
+ * built before and only few or no files changed.
+ *
+ * Every iteration starts from the same state, so runs with more than one warmup
+ * or measurement iteration measure the same build: the edit of the source is
+ * reverted and built again after each iteration and the cached build removes the
+ * outputs before each iteration. This is not part of the measured time.
+ */
+public class IncrementalBuildBenchmarks extends BaseBenchmark {
+    @Setup
+    public void setUp(BenchmarkParams params) throws IOException {
+        clean();
+
+        if (isCachedBuild(params)) {
+            // fill the build cache and the configuration cache
+            compileAllCached();
+        } else {
+            compileAll();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration(BenchmarkParams params) throws IOException {
+        if (isCachedBuild(params)) {
+            // the outputs are restored from the build cache
+            gradleClean();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration(BenchmarkParams params) throws IOException {
+        if (params.getBenchmark().endsWith("Change")) {
+            // the next iteration edits the source of the previous build again
+            revertEditedSource();
+            compileAll();
+        }
+    }
+
+    private static boolean isCachedBuild(BenchmarkParams params) {
+        return params.getBenchmark().endsWith(".benchmarkCachedBuild");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        // do not leave the edited file for the following benchmarks
+        revertLocalChanges();
+    }
+
+    @Benchmark
+    public void benchmarkNoOpBuild() throws IOException {
+        compileAll();
+    }
+
+    @Benchmark
+    public void benchmarkAbiCompatibleChange() throws IOException {
+        editSource(false);
+        compileAll();
+    }
+
+    @Benchmark
+    public void benchmarkAbiBreakingChange() throws IOException {
+        editSource(true);
+        compileAll();
+    }
+
+    @Benchmark
+    public void benchmarkCachedBuild() throws IOException {
+        compileAllCached();
+    }
+}
@@ -0,0 +1,35 @@
+package org.apache.poi.benchmark.suite;
+
+import org.openjdk.jmh.annotations.Setup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs "SSPerformanceTest" of the examples of Apache POI for one point of a
+ * sweep over the number of rows and columns. The nightly run only measures one
+ * small point per format, the subclasses document the points of the full sweep,
+ * which is run manually via e.g. "-p rows=10000,30000,100000 -p cols=5,20,50".
+ *
+ * The application runs with a fixed heap of 2g, large points need more via e.g.
+ * "-Dpoi.benchmark.scalingHeap=8g".
+ *
+ * Besides the time, the peak memory of the process is reported as secondary
+ * metric by the {@link SecondaryMetricsProfiler}. "processResults" fits how
+ * both scale with the rows and columns and charts the curves in "scaling.html".
+ */
+public abstract class SSScalingBenchmark extends BaseBenchmark {
+    private static final String MAX_HEAP = System.getProperty("poi.benchmark.scalingHeap", "2g");
+
+    @Setup
+    public void setUp() throws IOException {
+        compileAll();
+    }
+
+    protected void runSSPerformance(String type, int rows, int cols) throws IOException {
+        SecondaryMetrics.record("cells", (double) rows * cols, "#");
+
+        runPOIApplication("org.apache.poi.examples.ss.SSPerformanceTest", MAX_HEAP, TimeUnit.HOURS.toMillis(2),
+                type, Integer.toString(rows), Integer.toString(cols), "0");
+    }
+}
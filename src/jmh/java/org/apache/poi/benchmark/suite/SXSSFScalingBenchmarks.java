@@ -0,0 +1,24 @@
+package org.apache.poi.benchmark.suite;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+import java.io.IOException;
+
+/**
+ * SXSSF flushes rows to a temporary file, so it is used for the sizes of large exports.
+ *
+ * The full sweep is run via "-p rows=10000,100000,1000000 -p cols=5,20,200".
+ */
+public class SXSSFScalingBenchmarks extends SSScalingBenchmark {
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"20"})
+    public int cols;
+
+    @Benchmark
+    public void benchmark() throws IOException {
+        runSSPerformance("SXSSF", rows, cols);
+    }
+}
@@ -0,0 +1,43 @@
+package org.apache.poi.benchmark.suite;
+
+import org.apache.poi.benchmark.results.Results;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects additional measurements while a benchmark is running. They are
+ * reported by the {@link SecondaryMetricsProfiler} as secondary metrics of the
+ * iteration and thus end up in the results.json of the run.
+ */
+final class SecondaryMetrics {
+    private static final List<ScalarResult> RESULTS = new ArrayList<>();
+
+    private static ScalarResult revision;
+
+    private SecondaryMetrics() {
+    }
+
+    static synchronized void record(String name, double value, String unit) {
+        RESULTS.add(new ScalarResult(name, value, unit, AggregationPolicy.AVG));
+    }
+
+    /**
+     * The revision of the sources is reported for every iteration, so each
+     * result can be related to the commits of Apache POI.
+     */
+    static synchronized void setRevision(long value) {
+        revision = value == -1 ? null : new ScalarResult(Results.REVISION, value, "rev", AggregationPolicy.MAX);
+    }
+
+    static synchronized List<ScalarResult> drain() {
+        List<ScalarResult> results = new ArrayList<>(RESULTS);
+        RESULTS.clear();
+        if (revision != null) {
+            results.add(revision);
+        }
+        return results;
+    }
+}
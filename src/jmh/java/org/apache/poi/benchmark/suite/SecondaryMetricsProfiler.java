@@ -0,0 +1,36 @@
+package org.apache.poi.benchmark.suite;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+
+import java.util.Collection;
+
+/**
+ * Reports the measurements which were recorded via {@link SecondaryMetrics}
+ * during an iteration, enable it with
+ * "-prof org.apache.poi.benchmark.suite.SecondaryMetricsProfiler".
+ *
+ * As the benchmarks run with "@Fork(0)", the profiler runs in the same JVM
+ * as the benchmarks.
+ */
+public class SecondaryMetricsProfiler implements InternalProfiler {
+    @Override
+    public String getDescription() {
+        return "Resource usage of the processes started by the benchmarks";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        // discard anything left over from a previous iteration which failed
+        SecondaryMetrics.drain();
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams,
+                                                       IterationParams iterationParams, IterationResult result) {
+        return SecondaryMetrics.drain();
+    }
+}
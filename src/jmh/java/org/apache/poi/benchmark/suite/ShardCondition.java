@@ -0,0 +1,53 @@
+package org.apache.poi.benchmark.suite;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * JUnit extension which is registered in the test-JVM of Apache POI by the
+ * Gradle init-script of the sharded integration-tests, see
+ * {@link BaseBenchmark#testIntegrationSharded(int)}.
+ *
+ * Each test is assigned to one shard based on the hash of its unique id, so
+ * all shards agree on the assignment without any coordination. Invocations of
+ * parameterized tests are assigned separately, this way the files of the
+ * large parameterized integration-tests are distributed across the shards.
+ *
+ * Note: this class is not loaded in the benchmark itself, only the class-file
+ * is copied, so JUnit is not needed at runtime of the benchmarks.
+ */
+public class ShardCondition implements ExecutionCondition {
+    static final String SHARD_PROPERTY = "poi.benchmark.shard";
+    static final String SHARDS_PROPERTY = "poi.benchmark.shards";
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        int shards = Integer.getInteger(SHARDS_PROPERTY, 1);
+        int shard = Integer.getInteger(SHARD_PROPERTY, 0);
+
+        String uniqueId = context.getUniqueId();
+        if (shards <= 1 || !isShardedTest(uniqueId)) {
+            return ConditionEvaluationResult.enabled("Not sharded");
+        }
+
+        int assigned = Math.floorMod(uniqueId.hashCode(), shards);
+        return assigned == shard ?
+                ConditionEvaluationResult.enabled("Test in shard " + shard) :
+                ConditionEvaluationResult.disabled("Test in shard " + assigned + ", running shard " + shard);
+    }
+
+    /**
+     * Containers like test-classes or parameterized tests are run in all shards, only their
+     * single tests are distributed, e.g. the last segment of
+     * "[engine:junit-jupiter]/[class:org.apache.poi.stress.TestAllFiles]/[test-template:handleFile(...)]/[test-template-invocation:#3]".
+     *
+     * Dynamic tests are not evaluated by conditions, thus the whole test-factory is assigned to one shard.
+     */
+    private static boolean isShardedTest(String uniqueId) {
+        String last = uniqueId.substring(uniqueId.lastIndexOf("/[") + 2);
+        return last.startsWith("method:") ||
+                last.startsWith("test-template-invocation:") ||
+                last.startsWith("test-factory:");
+    }
+}
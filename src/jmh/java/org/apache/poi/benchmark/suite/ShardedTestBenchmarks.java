@@ -0,0 +1,39 @@
+package org.apache.poi.benchmark.suite;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Timeout;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the integration-tests in concurrent shards, the number of shards can
+ * be tuned against the available cores via "-p shards=2,4,8".
+ *
+ * This runs the integration-tests a second time, so it is excluded from the
+ * nightly run and started manually via
+ *
+ *      java -Dpoi.benchmark.shardMemory=8192 -jar build/libs/poi-benchmark-jmh.jar ShardedTestBenchmarks
+ *
+ * The score is the total time, the slowest and fastest shard are reported
+ * as secondary metrics.
+ */
+public class ShardedTestBenchmarks extends BaseBenchmark {
+    @Param("4")
+    public int shards;
+
+    @Setup
+    public void setUp() throws IOException {
+        compileAll();
+        prepareIntegrationShards(shards);
+    }
+
+    // set the timeout to a high value as integration tests do not print out anything for quite some time
+    @Timeout(time = 3, timeUnit = TimeUnit.HOURS)
+    @Benchmark
+    public void benchmarkTestIntegrationSharded() throws IOException {
+        testIntegrationSharded(shards);
+    }
+}
@@ -0,0 +1,28 @@
+package org.apache.poi.benchmark.suite;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.io.IOException;
+
+/**
+ * Compares the full schemas of "poi-ooxml-full" with the jar of "poi-ooxml-lite".
+ */
+public class XSSFColdStartBenchmarks extends ColdStartBenchmark {
+    @Param({"write", "read"})
+    public String action;
+
+    @Param({"full", "lite"})
+    public String schemas;
+
+    @Setup
+    public void setUp() throws IOException {
+        prepareProbe(action, "XSSF", "lite".equals(schemas));
+    }
+
+    @Benchmark
+    public void benchmark() throws IOException {
+        runProbe();
+    }
+}
@@ -0,0 +1,26 @@
+package org.apache.poi.benchmark.suite;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+import java.io.IOException;
+
+/**
+ * XSSF keeps all cells in memory, so the sweep is limited to a few million cells,
+ * larger points can be run via e.g. "-p rows=1000000 -p cols=20" with more memory
+ * via "-Dpoi.benchmark.scalingHeap".
+ *
+ * The full sweep is run via "-p rows=10000,30000,100000 -p cols=5,20,50".
+ */
+public class XSSFScalingBenchmarks extends SSScalingBenchmark {
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"20"})
+    public int cols;
+
+    @Benchmark
+    public void benchmark() throws IOException {
+        runSSPerformance("XSSF", rows, cols);
+    }
+}
@@ -1,25 +1,91 @@
 package org.apache.poi.benchmark;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.html.HtmlEscapers;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.SuffixFileFilter;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.time.DateUtils;
-import org.apache.commons.lang3.time.FastDateFormat;
+import org.apache.poi.benchmark.results.BenchmarkSeries;
+import org.apache.poi.benchmark.results.BenchmarkResult;
+import org.apache.poi.benchmark.results.ChangePointDetector;
+import org.apache.poi.benchmark.results.JmhResultParser;
 import org.apache.poi.benchmark.results.Results;
-
+import org.apache.poi.benchmark.results.ResultsIndex;
+import org.apache.poi.benchmark.results.ScalingCurves;
+import org.apache.poi.benchmark.results.TestTimings;
+import org.apache.poi.benchmark.results.TopMovers;
+import org.apache.poi.benchmark.util.OutputManifest;
+import org.apache.poi.benchmark.util.StreamingTemplate;
+
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
-import java.text.ParseException;
-import java.util.Date;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 public class ProcessResults {
-    private static final FastDateFormat DATE_FORMAT = FastDateFormat.getInstance("yyyy-MM-dd");
+    // kept outside of "build" as this is removed on every run of the benchmark
+    static final File INDEX_FILE = new File("cache/results.idx");
+
+    // fingerprints of the inputs of all written files, files with unchanged inputs are not written again
+    private static final File MANIFEST_FILE = new File("cache/report-manifest.txt");
+
+    private static final HashFunction FINGERPRINT = Hashing.murmur3_128();
+
+    // part of every fingerprint, increase it whenever the code changes how the files are
+    // written, e.g. the charts, the data or the formatting of values, so all files are written again
+    private static final int REPORT_FORMAT_VERSION = 1;
+
+    // written by the benchmarks for each module with tests, e.g. "2026-10-17-test-timings-poi.json"
+    private static final Pattern TEST_TIMINGS_FILE = Pattern.compile("(\\d{4}-\\d{2}-\\d{2})-test-timings-(.+)\\.json");
+    private static final String TESTS_HTML = "tests.html";
+
+    // the durations of the latest run are compared to the median of this number of previous runs
+    private static final int TEST_TIMINGS_HISTORY = 7;
+    private static final int TOP_MOVERS = 25;
+
+    private static final String SCALING_HTML = "scaling.html";
+
+    // the secondary metric with the peak memory of the process started by the benchmark
+    private static final String PEAK_MEMORY = "proc.rss.maxProcess";
+
+    // scaling exponents above this are highlighted, e.g. 2 if doubling the rows quadruples the time
+    private static final double SUPER_LINEAR = 1.15;
+
+    // number of threads for reading result-files which are not yet in the index and for writing the charts
+    private static final int PARALLELISM = Integer.getInteger("results.parallelism",
+            Runtime.getRuntime().availableProcessors());
+
+    // write the data of each time range only once to a CSV file which is loaded
+    // by the charts, instead of including all data in every page
+    private static final boolean EXTERNAL_DATA = Boolean.getBoolean("results.externalData");
 
     private enum ResultType {
         all, last90Days
@@ -90,16 +156,77 @@ public class ProcessResults {
                 '\n' +
                 "  g.ready(function() {\n" +
                 "    g.setAnnotations([\n" +
-                "    {series: \"Test.TestOOXMLLite\",x: \"2016-08-01\",shortText: \"A\",text: \"OOXMLLite build change\"},\n" +
-                "    {series: \"Test.TestIntegration\",x: \"2016-09-15\",shortText: \"B\",text: \"Server upgrade\",attachAtBottom: true},\n" +
-                "    {series: \"Test.TestOOXMLLite\",x: \"2016-09-17\",shortText: \"C\",text: \"OOXMLLite enabled again\"},\n" +
+                "${annotations}" +
                 "    ]);\n" +
                 "  });\n" +
                 "</script>\n" +
         "</body>\n" +
         "</html>\n";
 
-    public static void main(String[] args) throws IOException, ParseException {
+    // known events, the steps which are found in the results are added to these
+    private static final String NOTES =
+                "    {series: \"Test.TestOOXMLLite\",x: \"2016-08-01\",shortText: \"A\",text: \"OOXMLLite build change\"},\n" +
+                "    {series: \"Test.TestIntegration\",x: \"2016-09-15\",shortText: \"B\",text: \"Server upgrade\",attachAtBottom: true},\n" +
+                "    {series: \"Test.TestOOXMLLite\",x: \"2016-09-17\",shortText: \"C\",text: \"OOXMLLite enabled again\"},\n";
+
+    private static final StreamingTemplate CHART = new StreamingTemplate(TEMPLATE);
+
+    // the same chart, but loading the data from a CSV file which is shared by all charts of a time range
+    private static final StreamingTemplate EXTERNAL_DATA_CHART = new StreamingTemplate(TEMPLATE.replace(
+                "    \"${dataheader}\\n\" +\n" +
+                "   ${data},\n" +
+                "    {\n",
+                "    \"${datafile}\",\n" +
+                "    {\n" +
+                "       visibility: [${visibility}],\n"));
+
+    private static final String DATA_FILE = "data.csv";
+
+    /**
+     * Collects the files which need to be written, skipping the ones which
+     * were written from the same inputs before.
+     */
+    private static class Outputs {
+        private final OutputManifest manifest;
+        private final List<Callable<Void>> tasks = new ArrayList<>();
+        private int skipped;
+
+        private Outputs(OutputManifest manifest) {
+            this.manifest = manifest;
+        }
+
+        private void add(File file, Hasher fingerprint, Callable<Void> task) {
+            String hash = fingerprint.putInt(REPORT_FORMAT_VERSION).hash().toString();
+            if (manifest.isUpToDate(file, hash)) {
+                skipped++;
+                return;
+            }
+
+            manifest.put(file, hash);
+            tasks.add(task);
+        }
+    }
+
+    /**
+     * How the lines of data are written
+     */
+    private enum DataFormat {
+        // JavaScript string literals concatenated via "+" as part of the page
+        inline("\"", "\\n\" ", "+ \n"),
+        csv("", "\n", "");
+
+        private final String lineStart;
+        private final String lineEnd;
+        private final String separator;
+
+        DataFormat(String lineStart, String lineEnd, String separator) {
+            this.lineStart = lineStart;
+            this.lineEnd = lineEnd;
+            this.separator = separator;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
         File resultsDir = new File("results");
         File[] files = resultsDir.listFiles((FilenameFilter) new SuffixFileFilter("-results.json"));
         Preconditions.checkNotNull(files, "Directory %s does not exist",
@@ -107,20 +234,172 @@ public class ProcessResults {
 
         System.out.println("Found " + files.length + " file to process in directory " + resultsDir.getAbsolutePath());
 
-        Results results = new Results();
-        String maxDateStr = results.readFiles(files);
+        ResultsIndex index = new ResultsIndex(INDEX_FILE, PARALLELISM);
+        int added = index.update(files);
+        System.out.println("Added " + added + " new files to index " + INDEX_FILE.getAbsolutePath());
+
+        Map<String, BenchmarkSeries> values = index.readSeries();
+        BenchmarkSeries revisions = removeRevisions(values);
+        int maxDay = getMaxDay(values);
+        Map<String, List<ChangePointDetector.Step>> steps = findSteps(values);
+        Outputs outputs = new Outputs(new OutputManifest(MANIFEST_FILE));
+        boolean hasTestTimings = generateTestTimings(resultsDir, outputs);
+        boolean hasScaling = generateScaling(values, outputs, resultsDir);
+
+        generateHtmlFiles(values, steps, revisions, BenchmarkSeries.toEpochDay("2016-04-27"), maxDay,
+                resultsDir, ResultType.all, hasTestTimings, hasScaling, outputs);
+
+        // produce charts for only the last 90 days, the range ends at the latest result instead
+        // of today, so the charts of this range only change when there are new results
+        generateHtmlFiles(values, steps, revisions, maxDay - 90, maxDay,
+                new File(resultsDir, "month"), ResultType.last90Days, hasTestTimings, hasScaling, outputs);
+
+        System.out.println("Skipping " + outputs.skipped + " files which are unchanged since the last run");
+        runAll(outputs.tasks);
+
+        // only remember the fingerprints when all files were written successfully
+        outputs.manifest.write();
+    }
+
+    private static void runAll(List<Callable<Void>> tasks) throws IOException {
+        System.out.println("Writing " + tasks.size() + " files with " + PARALLELISM + " threads");
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(PARALLELISM);
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+                    Throwables.throwIfUnchecked(e.getCause());
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing files", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 
-        Map<String, Map<String, Double>> values = results.getValues();
-        generateHtmlFiles(values, DATE_FORMAT.parse("2016-04-27"), maxDateStr, resultsDir, ResultType.all);
+    private static Map<String, List<ChangePointDetector.Step>> findSteps(Map<String, BenchmarkSeries> values) {
+        ChangePointDetector detector = new ChangePointDetector();
 
-        // produce charts for only the last 30 days
-        generateHtmlFiles(values, DateUtils.addDays(new Date(), -90), maxDateStr, new File(resultsDir, "month"), ResultType.last90Days);
+        Map<String, List<ChangePointDetector.Step>> steps = new TreeMap<>();
+        int count = 0;
+        for (Map.Entry<String, BenchmarkSeries> entry : values.entrySet()) {
+            steps.put(entry.getKey(), detector.findSteps(entry.getValue()));
+            count += steps.get(entry.getKey()).size();
+        }
+
+        System.out.println("Found " + count + " steps in the results of " + values.size() + " benchmarks");
+
+        return steps;
     }
 
-    private static String getBenchmarkName(String benchmark) {
-        return StringUtils.removeStart(benchmark, "org.apache.poi.benchmark.suite.").
+    /**
+     * The revisions of Apache POI are stored in the index next to the benchmarks,
+     * they are only used for describing the steps.
+     *
+     * @return The revision for each day, empty for results without revisions
+     */
+    static BenchmarkSeries removeRevisions(Map<String, BenchmarkSeries> values) {
+        BenchmarkSeries revisions = values.remove(Results.REVISION);
+        return revisions == null ? new BenchmarkSeries(new int[0], new double[0]) : revisions;
+    }
+
+    /**
+     * Annotate the steps of the included benchmarks which are in the given range of days.
+     *
+     * @param seriesName The name of the series of a benchmark in the chart
+     */
+    private static String getAnnotations(Map<String, List<ChangePointDetector.Step>> steps, BenchmarkSeries revisions,
+                                         int startDay, int endDay,
+                                         Predicate<String> isIncluded, Function<String, String> seriesName) {
+        StringBuilder annotations = new StringBuilder(NOTES);
+        for (Map.Entry<String, List<ChangePointDetector.Step>> entry : steps.entrySet()) {
+            if (!isIncluded.test(entry.getKey())) {
+                continue;
+            }
+
+            for (ChangePointDetector.Step step : entry.getValue()) {
+                if (step.getDay() < startDay || step.getDay() > endDay) {
+                    continue;
+                }
+
+                annotations.append("    {series: \"").append(seriesName.apply(entry.getKey())).
+                        append("\",x: \"").append(BenchmarkSeries.toDate(step.getDay())).
+                        append("\",shortText: \"").append(step.getAfter() > step.getBefore() ? "+" : "-").
+                        append("\",text: \"").append(formatStep(step, revisions)).append("\"},\n");
+            }
+        }
+
+        return annotations.toString();
+    }
+
+    static String formatStep(ChangePointDetector.Step step, BenchmarkSeries revisions) {
+        return String.format(Locale.ROOT, "%+.0f%%: %.2fs to %.2fs",
+                step.getRelativeChange() * 100, step.getBefore() / 1000, step.getAfter() / 1000) +
+                formatRevisions(revisions, step.getPreviousDay(), step.getDay());
+    }
+
+    /**
+     * @return The commits between the revisions of the two days, empty if the revision of one of the days is not known
+     */
+    static String formatRevisions(BenchmarkSeries revisions, int previousDay, int day) {
+        double beforeValue = revisions.getValueForDay(previousDay);
+        double afterValue = revisions.getValueForDay(day);
+        if (Double.isNaN(beforeValue) || Double.isNaN(afterValue)) {
+            return "";
+        }
+
+        long before = (long) beforeValue;
+        long after = (long) afterValue;
+
+        if (before == after) {
+            return ", same revision r" + after;
+        }
+
+        return before < after ?
+                ", commits r" + (before + 1) + (before + 1 == after ? "" : "-r" + after) :
+                ", back from r" + before + " to r" + after;
+    }
+
+    private static int getMaxDay(Map<String, BenchmarkSeries> values) {
+        int maxDay = Integer.MIN_VALUE;
+        for (BenchmarkSeries series : values.values()) {
+            if (!series.isEmpty()) {
+                maxDay = Math.max(maxDay, series.getLastDay());
+            }
+        }
+
+        Preconditions.checkState(maxDay != Integer.MIN_VALUE, "Should have a max date now!");
+
+        return maxDay;
+    }
+
+    /**
+     * The points of the parameter sweeps have their own charts in {@link #SCALING_HTML},
+     * other benchmarks with parameters are part of the combined chart.
+     */
+    static boolean isScalingBenchmark(String benchmark) {
+        return JmhResultParser.getName(benchmark).contains("ScalingBenchmarks.");
+    }
+
+    static String getBenchmarkName(String benchmark) {
+        // a benchmark-method which is only called "benchmark" does not leave a trailing dot
+        String name = StringUtils.removeEnd(StringUtils.removeStart(JmhResultParser.getName(benchmark), "org.apache.poi.benchmark.suite.").
                 replace("Benchmarks.benchmark", ".").
-                replace("SSPerformance.", "");
+                replace("SSPerformance.", ""), ".");
+
+        // the names are also used as labels in the CSV data of the charts, so the parameters are not separated by commas
+        Map<String, String> params = JmhResultParser.getParams(benchmark);
+        return params.isEmpty() ? name : name + "(" + params.entrySet().stream().
+                map(e -> e.getKey() + "=" + e.getValue()).collect(Collectors.joining(" ")) + ")";
     }
 
     private static String getBenchmarkNames(Set<String> names, Predicate<String> isIncluded) {
@@ -138,95 +417,539 @@ public class ProcessResults {
         return benchmarkNames.toString();
     }
 
-    private static void generateHtmlFiles(Map<String, Map<String, Double>> values, Date startDate, String maxDateStr,
-                                          File resultsDir, ResultType resultType) throws ParseException, IOException {
-        Set<String> dates = new TreeSet<>();
+    /**
+     * Prepare writing the charts and the overview-page for the given range of days.
+     *
+     * @param steps The steps found in the results of each benchmark, shown as annotations
+     * @param revisions The revision of Apache POI for each day, used to describe the steps
+     * @param hasTestTimings If a link to the page with the durations of tests should be included
+     * @param hasScaling If a link to the page with the scaling of parameter sweeps should be included
+     * @param outputs Collects one task per file which needs to be written
+     */
+    private static void generateHtmlFiles(Map<String, BenchmarkSeries> values,
+                                          Map<String, List<ChangePointDetector.Step>> steps, BenchmarkSeries revisions,
+                                          int startDay, int maxDay,
+                                          File resultsDir, ResultType resultType, boolean hasTestTimings, boolean hasScaling,
+                                          Outputs outputs) {
+        // format each date only once, it is used for every benchmark
+        String[] dates = new String[Math.max(0, maxDay - startDay + 1)];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = BenchmarkSeries.toDate(startDay + i);
+        }
 
         StringBuilder overviewHtml = new StringBuilder("<html><body><h1>Available Benchmarks for Apache POI" +
                 (resultType == ResultType.last90Days ? " for last 90 days" : "") + "</h1><br/>\n");
-        overviewHtml.append("Having data from ").append(DATE_FORMAT.format(startDate)).
-                append(" to ").append(maxDateStr).append("<br/><br/><br/>");
+        overviewHtml.append("Having data from ").append(BenchmarkSeries.toDate(startDay)).
+                append(" to ").append(BenchmarkSeries.toDate(maxDay)).append("<br/><br/><br/>");
+
+        if(EXTERNAL_DATA) {
+            Hasher fingerprint = fingerprintData(values, startDay, dates, s -> true);
+            outputs.add(new File(resultsDir, DATA_FILE), fingerprint, () -> {
+                writeDataFile(values, startDay, dates, resultsDir);
+                return null;
+            });
+        }
 
         // one file per benchmark
-        for(String benchmark : values.keySet()) {
-            Map<String, Double> dateItems = values.get(benchmark);
+        for(Map.Entry<String, BenchmarkSeries> entry : values.entrySet()) {
+            String benchmark = entry.getKey();
+            overviewHtml.append("<a href=\"").append(benchmark).append(".html\">").
+                    append(getBenchmarkName(benchmark)).append("</a><br/>\n");
 
-            StringBuilder data = new StringBuilder();
-            Date date = startDate;
-            while(date.compareTo(DATE_FORMAT.parse(maxDateStr)) <= 0) {
-                String dateStr = DATE_FORMAT.format(date);
-                Double value = dateItems.get(dateStr);
+            // end the chart at the last result of this benchmark, so it stays unchanged
+            // if there are new results only for other benchmarks
+            BenchmarkSeries series = entry.getValue();
+            String[] benchmarkDates = dates;
+            if(!series.isEmpty() && series.getLastDay() >= startDay && series.getLastDay() < maxDay) {
+                benchmarkDates = Arrays.copyOf(dates, series.getLastDay() - startDay + 1);
+            }
 
-                // Format: "    \"2008-05-07,75\\n\" +\n" +
-                data.append("\"").append(dateStr).append(",").append(formatValue(value)).append("\\n\" + \n");
+            String annotations = getAnnotations(steps, revisions, startDay, startDay + benchmarkDates.length - 1,
+                    benchmark::equals, name -> "Time");
+            addChart(values, startDay, benchmarkDates, "Date,Time", getBenchmarkName(benchmark), benchmark,
+                    benchmark::equals, annotations, resultsDir, outputs);
+        }
 
-                date = DateUtils.addDays(date, 1);
+        // the points of parameter sweeps would clutter the combined chart, they are charted in the scaling page
+        writeCombined(values, steps, revisions, startDay, dates, overviewHtml, "combined", "Combined",
+                s -> !isScalingBenchmark(s), resultsDir, outputs);
+        writeCombined(values, steps, revisions, startDay, dates, overviewHtml, "ssperformance", "SSPerformance", input -> input.contains("SSPerformance"), resultsDir, outputs);
 
-                // keep for combined file
-                dates.add(dateStr);
+        if(resultType == ResultType.all) {
+            overviewHtml.append("<br/><a href=\"month/results.html\">Last 90 days</a>");
+            if(hasTestTimings) {
+                overviewHtml.append("<br/><br/><a href=\"" + TESTS_HTML + "\">Durations of tests</a>");
             }
+            if(hasScaling) {
+                overviewHtml.append("<br/><br/><a href=\"" + SCALING_HTML + "\">Scaling of parameter sweeps</a>");
+            }
+        } else {
+            overviewHtml.append("<br/><a href=\"../results.html\">Full time range</a>");
+            if(hasTestTimings) {
+                overviewHtml.append("<br/><br/><a href=\"../" + TESTS_HTML + "\">Durations of tests</a>");
+            }
+            if(hasScaling) {
+                overviewHtml.append("<br/><br/><a href=\"../" + SCALING_HTML + "\">Scaling of parameter sweeps</a>");
+            }
+        }
+        overviewHtml.append("</body></html>");
+
+        String html = overviewHtml.toString();
+        File overviewFile = new File(resultsDir, "results.html");
+        outputs.add(overviewFile, FINGERPRINT.newHasher().putString(html, StandardCharsets.UTF_8), () -> {
+            System.out.println("Writing overview to result.html");
+            FileUtils.writeStringToFile(overviewFile, html, "UTF-8");
+            return null;
+        });
+    }
 
-            // remove last trailing "+"
-            if(data.length() >= 3) {
-                data.setLength(data.length() - 3);
+    /**
+     * Prepare a page with the slowest tests and the tests which became slower
+     * in the latest run compared to the previous runs.
+     *
+     * @return false if there are no files with durations of tests
+     */
+    private static boolean generateTestTimings(File resultsDir, Outputs outputs) throws IOException {
+        // files by date for each module
+        Map<String, TreeMap<String, File>> timingFiles = new TreeMap<>();
+        File[] files = resultsDir.listFiles((FilenameFilter) new SuffixFileFilter(".json"));
+        Preconditions.checkNotNull(files, "Directory %s does not exist", resultsDir.getAbsolutePath());
+        for (File file : files) {
+            Matcher matcher = TEST_TIMINGS_FILE.matcher(file.getName());
+            if (matcher.matches()) {
+                timingFiles.computeIfAbsent(matcher.group(2), module -> new TreeMap<>()).put(matcher.group(1), file);
             }
+        }
 
-            overviewHtml.append("<a href=\"").append(benchmark).append(".html\">").
-                    append(getBenchmarkName(benchmark)).append("</a><br/>\n");
+        if (timingFiles.isEmpty()) {
+            return false;
+        }
+
+        StringBuilder html = new StringBuilder("<html><body><h1>Durations of tests of Apache POI</h1><br/>\n");
+        List<TopMovers.Entry> classes = new ArrayList<>();
+        List<TopMovers.Entry> tests = new ArrayList<>();
+        for (Map.Entry<String, TreeMap<String, File>> entry : timingFiles.entrySet()) {
+            List<File> runs = new ArrayList<>(entry.getValue().values());
+            TestTimings latest = TestTimings.read(runs.get(runs.size() - 1));
 
-            writeHtml(data, "Date,Time", getBenchmarkName(benchmark), benchmark, resultsDir);
+            List<TestTimings> previous = new ArrayList<>();
+            for (File file : runs.subList(Math.max(0, runs.size() - 1 - TEST_TIMINGS_HISTORY), runs.size() - 1)) {
+                previous.add(TestTimings.read(file));
+            }
+
+            classes.addAll(TopMovers.compare(entry.getKey(), latest.getClasses(),
+                    previous.stream().map(TestTimings::getClasses).collect(Collectors.toList())));
+            tests.addAll(TopMovers.compare(entry.getKey(), latest.getTests(),
+                    previous.stream().map(TestTimings::getTests).collect(Collectors.toList())));
+
+            html.append("Module ").append(entry.getKey()).append(": run of ").append(entry.getValue().lastKey()).
+                    append(" compared to the median of ").append(previous.size()).append(" previous runs<br/>\n");
         }
 
-        writeCombined(values, dates, overviewHtml, "combined", "Combined", s -> true, resultsDir);
-        writeCombined(values, dates, overviewHtml, "ssperformance", "SSPerformance", input -> input.contains("SSPerformance"), resultsDir);
+        appendTestTable(html, "Slowest test-classes", TopMovers.slowest(classes, TOP_MOVERS));
+        appendTestTable(html, "Most regressed test-classes", TopMovers.mostRegressed(classes, TOP_MOVERS));
+        appendTestTable(html, "Slowest tests", TopMovers.slowest(tests, TOP_MOVERS));
+        appendTestTable(html, "Most regressed tests", TopMovers.mostRegressed(tests, TOP_MOVERS));
 
-        if(resultType == ResultType.all) {
-            overviewHtml.append("<br/><a href=\"month/results.html\">Last 90 days</a>");
-        } else {
-            overviewHtml.append("<br/><a href=\"../results.html\">Full time range</a>");
+        html.append("<br/><a href=\"results.html\">Benchmarks</a></body></html>");
+
+        String content = html.toString();
+        File testsFile = new File(resultsDir, TESTS_HTML);
+        outputs.add(testsFile, FINGERPRINT.newHasher().putString(content, StandardCharsets.UTF_8), () -> {
+            System.out.println("Writing durations of tests to " + TESTS_HTML);
+            FileUtils.writeStringToFile(testsFile, content, "UTF-8");
+            return null;
+        });
+
+        return true;
+    }
+
+    /**
+     * Prepare a page which charts the results of the latest run with parameter sweeps
+     * on a log-log scale, together with the fitted scaling exponents of the time and
+     * the peak memory for this and the previous run with parameter sweeps.
+     *
+     * The nightly run only measures a single point per parameter, so the runs with sweeps
+     * are looked up in the index and only their files are read, the peak memory is not
+     * part of the index.
+     *
+     * @param values The results of all runs as read from the index
+     * @return false if no run contains any parameter sweeps
+     */
+    private static boolean generateScaling(Map<String, BenchmarkSeries> values, Outputs outputs, File resultsDir) throws IOException {
+        List<Integer> days = findSweepDays(values, 2);
+        if (days.isEmpty()) {
+            return false;
         }
-        overviewHtml.append("</body></html>");
 
-        System.out.println("Writing overview to result.html");
-        FileUtils.writeStringToFile(new File(resultsDir, "results.html"), overviewHtml.toString(), "UTF-8");
+        JmhResultParser parser = new JmhResultParser(true);
+        String date = BenchmarkSeries.toDate(days.get(0));
+        List<BenchmarkResult> latest = parser.parse(new File(resultsDir, date + "-results.json"));
+        List<BenchmarkResult> previous = days.size() < 2 ? Collections.emptyList() :
+                parser.parse(new File(resultsDir, BenchmarkSeries.toDate(days.get(1)) + "-results.json"));
+
+        Set<String> params = new TreeSet<>();
+        for (BenchmarkResult result : latest) {
+            params.addAll(JmhResultParser.getParams(result.getBenchmark()).keySet());
+        }
+
+        StringBuilder charts = new StringBuilder();
+        StringBuilder table = new StringBuilder("<table border=\"1\">\n<tr><th>Benchmark</th><th>Parameter</th>" +
+                "<th>Time exponent</th><th>Previous run</th><th>Memory exponent</th><th>Previous run</th></tr>\n");
+        int count = 0;
+        for (String param : params) {
+            List<ScalingCurves.Curve> times = ScalingCurves.curves(getScores(latest, null), param);
+            Map<String, Double> previousTimes = getExponents(ScalingCurves.curves(getScores(previous, null), param));
+            Map<String, ScalingCurves.Curve> memory = getCurves(ScalingCurves.curves(getScores(latest, PEAK_MEMORY), param));
+            Map<String, Double> previousMemory = getExponents(ScalingCurves.curves(getScores(previous, PEAK_MEMORY), param));
+
+            // one chart per benchmark and parameter with a line for each combination of the other parameters
+            Map<String, List<ScalingCurves.Curve>> groups = new TreeMap<>();
+            for (ScalingCurves.Curve curve : times) {
+                groups.computeIfAbsent(JmhResultParser.getName(curve.getName()), name -> new ArrayList<>()).add(curve);
+
+                ScalingCurves.Curve memoryCurve = memory.get(curve.getName());
+                table.append("<tr><td>").append(getBenchmarkName(curve.getName())).append("</td><td>").append(param).append("</td>").
+                        append(formatExponent(curve.getExponent())).
+                        append(formatExponent(previousTimes.getOrDefault(curve.getName(), Double.NaN))).
+                        append(formatExponent(memoryCurve == null ? Double.NaN : memoryCurve.getExponent())).
+                        append(formatExponent(previousMemory.getOrDefault(curve.getName(), Double.NaN))).
+                        append("</tr>\n");
+            }
+
+            for (Map.Entry<String, List<ScalingCurves.Curve>> group : groups.entrySet()) {
+                String title = getBenchmarkName(group.getKey()) + " over " + param;
+                appendScalingChart(charts, "chart" + count++, title + ": time", "s", group.getValue(), 1000);
+
+                List<ScalingCurves.Curve> memoryCurves = new ArrayList<>();
+                for (ScalingCurves.Curve curve : group.getValue()) {
+                    if (memory.containsKey(curve.getName())) {
+                        memoryCurves.add(memory.get(curve.getName()));
+                    }
+                }
+                if (!memoryCurves.isEmpty()) {
+                    appendScalingChart(charts, "chart" + count++, title + ": peak memory", "MB", memoryCurves, 1);
+                }
+            }
+        }
+
+        if (count == 0) {
+            return false;
+        }
+
+        String content = "<html>\n<head>\n" +
+                "    <link rel=\"stylesheet\" href=\"dygraph.min.css\">\n" +
+                "    <script src=\"dygraph.min.js\"></script>\n" +
+                "    <style>.chart { width: 800px; height: 400px; margin-bottom: 30px; }</style>\n" +
+                "</head>\n<body><h1>Scaling of parameter sweeps</h1>\n" +
+                "Run of " + date +
+                ", the exponent is the slope on a log-log scale, 1 is linear, 2 is quadratic<br/><br/>\n" +
+                table + "</table>\n" + charts +
+                "<br/><a href=\"results.html\">Benchmarks</a></body></html>";
+
+        File scalingFile = new File(resultsDir, SCALING_HTML);
+        outputs.add(scalingFile, FINGERPRINT.newHasher().putString(content, StandardCharsets.UTF_8), () -> {
+            System.out.println("Writing scaling of parameter sweeps to " + SCALING_HTML);
+            FileUtils.writeStringToFile(scalingFile, content, "UTF-8");
+            return null;
+        });
+
+        return true;
     }
 
-    private static void writeCombined(Map<String, Map<String, Double>> values, Set<String> dates,
-                                      StringBuilder overviewHtml, String fileName, String groupName,
-                                      Predicate<String> isIncluded, File resultsDir) throws IOException {
-        StringBuilder combinedData = new StringBuilder();
-        for(String dateStr : dates) {
-            combinedData.append("\"").append(dateStr);
-            for(String benchmark : values.keySet()) {
-                if(!isIncluded.test(benchmark)) {
-                    continue;
+    /**
+     * @param values The results of all runs as read from the index
+     * @param limit The maximum number of days to return
+     * @return The days of the newest runs where at least one parameter has two or more points, newest first
+     */
+    static List<Integer> findSweepDays(Map<String, BenchmarkSeries> values, int limit) {
+        // the results of benchmarks with parameters by day
+        TreeMap<Integer, Map<String, Double>> days = new TreeMap<>(Comparator.reverseOrder());
+        for (Map.Entry<String, BenchmarkSeries> entry : values.entrySet()) {
+            if (JmhResultParser.getParams(entry.getKey()).isEmpty()) {
+                continue;
+            }
+
+            BenchmarkSeries series = entry.getValue();
+            for (int i = 0; i < series.size(); i++) {
+                days.computeIfAbsent(series.getDay(i), day -> new TreeMap<>()).put(entry.getKey(), series.getValue(i));
+            }
+        }
+
+        List<Integer> found = new ArrayList<>();
+        for (Map.Entry<Integer, Map<String, Double>> day : days.entrySet()) {
+            Set<String> params = new TreeSet<>();
+            for (String benchmark : day.getValue().keySet()) {
+                params.addAll(JmhResultParser.getParams(benchmark).keySet());
+            }
+
+            for (String param : params) {
+                if (!ScalingCurves.curves(day.getValue(), param).isEmpty()) {
+                    found.add(day.getKey());
+                    break;
                 }
-                Double value = values.get(benchmark).get(dateStr);
-                combinedData.append(",").append(formatValue(value));
             }
-            combinedData.append("\\n\" + \n");
+
+            if (found.size() == limit) {
+                break;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * @param metric The secondary metric to use, null for the score
+     */
+    private static Map<String, Double> getScores(List<BenchmarkResult> results, String metric) {
+        Map<String, Double> scores = new TreeMap<>();
+        for (BenchmarkResult result : results) {
+            Double value = metric == null ? Double.valueOf(result.getScore()) : result.getSecondaryMetrics().get(metric);
+            if (value != null) {
+                scores.put(result.getBenchmark(), value);
+            }
+        }
+        return scores;
+    }
+
+    private static Map<String, ScalingCurves.Curve> getCurves(List<ScalingCurves.Curve> curves) {
+        Map<String, ScalingCurves.Curve> byName = new TreeMap<>();
+        for (ScalingCurves.Curve curve : curves) {
+            byName.put(curve.getName(), curve);
+        }
+        return byName;
+    }
+
+    private static Map<String, Double> getExponents(List<ScalingCurves.Curve> curves) {
+        Map<String, Double> exponents = new TreeMap<>();
+        for (ScalingCurves.Curve curve : curves) {
+            exponents.put(curve.getName(), curve.getExponent());
+        }
+        return exponents;
+    }
+
+    private static String formatExponent(double exponent) {
+        if (Double.isNaN(exponent)) {
+            return "<td></td>";
+        }
+
+        return (exponent > SUPER_LINEAR ? "<td align=\"right\" style=\"background-color: #ffc0c0\">" : "<td align=\"right\">") +
+                String.format(Locale.ROOT, "%.2f", exponent) + "</td>";
+    }
+
+    /**
+     * A chart with both axes on a log-scale and one line per curve.
+     *
+     * @param divisor Converts the results to the unit, e.g. 1000 for milliseconds to seconds
+     */
+    private static void appendScalingChart(StringBuilder html, String id, String title, String unit,
+                                           List<ScalingCurves.Curve> curves, double divisor) {
+        // the values of the parameter of all curves, the curves do not need to have the same points
+        TreeMap<Double, String[]> rows = new TreeMap<>();
+        for (int c = 0; c < curves.size(); c++) {
+            double[] x = curves.get(c).getX();
+            double[] y = curves.get(c).getY();
+            for (int i = 0; i < x.length; i++) {
+                rows.computeIfAbsent(x[i], k -> new String[curves.size()])[c] = Double.toString(y[i] / divisor);
+            }
         }
 
-        // remove last trailing "+"
-        if(combinedData.length() >= 3) {
-            combinedData.setLength(combinedData.length() - 3);
+        String param = curves.get(0).getParam();
+        html.append("<div id=\"").append(id).append("\" class=\"chart\"></div>\n").
+                append("<script type=\"text/javascript\">\n  new Dygraph(document.getElementById(\"").append(id).append("\"),\n").
+                append("    \"").append(param);
+        for (ScalingCurves.Curve curve : curves) {
+            Map<String, String> others = JmhResultParser.getParams(curve.getName());
+            html.append(',').append(others.isEmpty() ? getBenchmarkName(curve.getName()) :
+                    others.entrySet().stream().map(e -> e.getKey() + "=" + e.getValue()).collect(Collectors.joining(" ")));
         }
+        html.append("\\n\" +\n");
+        for (Map.Entry<Double, String[]> row : rows.entrySet()) {
+            html.append("    \"").append(String.format(Locale.ROOT, "%.0f", row.getKey()));
+            for (String value : row.getValue()) {
+                html.append(',').append(value == null ? "" : value);
+            }
+            html.append("\\n\" +\n");
+        }
+        html.append("    \"\",\n    {\n").
+                append("       title: '").append(title).append("',\n").
+                append("       xlabel: '").append(param).append("',\n").
+                append("       ylabel: '").append(unit).append("',\n").
+                append("       logscale: true,\n").
+                append("       axes: { x: { logscale: true } },\n").
+                append("       drawPoints: true,\n").
+                append("       connectSeparatedPoints: true,\n").
+                append("       legend: 'always'\n").
+                append("    });\n</script>\n");
+    }
+
+    private static void appendTestTable(StringBuilder html, String title, List<TopMovers.Entry> entries) {
+        html.append("<h2>").append(title).append("</h2>\n").
+                append("<table border=\"1\">\n").
+                append("<tr><th>Module</th><th>Name</th><th>Latest (s)</th><th>Median before (s)</th><th>Change (s)</th></tr>\n");
+        for (TopMovers.Entry entry : entries) {
+            html.append("<tr><td>").append(entry.getModule()).
+                    append("</td><td>").append(HtmlEscapers.htmlEscaper().escape(entry.getName())).
+                    append("</td><td>").append(formatSeconds(entry.getLatest())).
+                    append("</td><td>").append(formatSeconds(entry.getBaseline())).
+                    append("</td><td>").append(formatSeconds(entry.getDelta())).
+                    append("</td></tr>\n");
+        }
+        html.append("</table>\n");
+    }
 
-        writeHtml(combinedData, "Date," + getBenchmarkNames(values.keySet(), isIncluded), groupName, fileName, resultsDir);
+    private static String formatSeconds(double seconds) {
+        return Double.isNaN(seconds) ? "" : String.format(Locale.ROOT, "%.2f", seconds);
+    }
+
+    private static void writeCombined(Map<String, BenchmarkSeries> values,
+                                      Map<String, List<ChangePointDetector.Step>> steps, BenchmarkSeries revisions,
+                                      int startDay, String[] dates,
+                                      StringBuilder overviewHtml, String fileName, String groupName,
+                                      Predicate<String> isIncluded, File resultsDir, Outputs outputs) {
+        String dataHeader = "Date," + getBenchmarkNames(values.keySet(), isIncluded);
+        String annotations = getAnnotations(steps, revisions, startDay, startDay + dates.length - 1,
+                isIncluded, ProcessResults::getBenchmarkName);
+        addChart(values, startDay, dates, dataHeader, groupName, fileName, isIncluded, annotations, resultsDir, outputs);
 
         overviewHtml.append("<br/><a href=\"").append(fileName).append(".html\">").append(groupName).append("</a><br/>\n");
     }
 
-    private static void writeHtml(StringBuilder data, String dataHeader, String benchmark, String fileName, File resultsDir) throws IOException {
-        String html = TEMPLATE.replace("${data}", data);
-        html = html.replace("${dataheader}", dataHeader);
-        html = html.replace("${benchmark}", benchmark);
+    private static void addChart(Map<String, BenchmarkSeries> values, int startDay, String[] dates,
+                                 String dataHeader, String title, String fileName,
+                                 Predicate<String> isIncluded, String annotations, File resultsDir, Outputs outputs) {
+        final Hasher fingerprint;
+        if(EXTERNAL_DATA) {
+            // the data is in the separate data-file, the page only depends on the benchmarks which are shown
+            fingerprint = FINGERPRINT.newHasher().
+                    putString(TEMPLATE, StandardCharsets.UTF_8).
+                    putBoolean(true).
+                    putString(title, StandardCharsets.UTF_8).
+                    putString(annotations, StandardCharsets.UTF_8);
+            for(String benchmark : values.keySet()) {
+                fingerprint.putBoolean(isIncluded.test(benchmark));
+            }
+        } else {
+            fingerprint = fingerprintData(values, startDay, dates, isIncluded).
+                    putString(TEMPLATE, StandardCharsets.UTF_8).
+                    putBoolean(false).
+                    putString(dataHeader, StandardCharsets.UTF_8).
+                    putString(title, StandardCharsets.UTF_8).
+                    putString(annotations, StandardCharsets.UTF_8);
+        }
 
+        outputs.add(new File(resultsDir, fileName + ".html"), fingerprint, () -> {
+            writeChart(values, startDay, dates, dataHeader, title, fileName, isIncluded, annotations, resultsDir);
+            return null;
+        });
+    }
+
+    /**
+     * Fingerprint of the range of days and of all values of the included benchmarks in this range.
+     */
+    private static Hasher fingerprintData(Map<String, BenchmarkSeries> values, int startDay, String[] dates,
+                                          Predicate<String> isIncluded) {
+        Hasher hasher = FINGERPRINT.newHasher().
+                putInt(startDay).
+                putInt(dates.length);
+        for(Map.Entry<String, BenchmarkSeries> entry : values.entrySet()) {
+            if(!isIncluded.test(entry.getKey())) {
+                continue;
+            }
+
+            BenchmarkSeries series = entry.getValue().slice(startDay, startDay + dates.length - 1);
+            hasher.putString(entry.getKey(), StandardCharsets.UTF_8).
+                    putInt(series.size());
+            for(int i = 0; i < series.size(); i++) {
+                hasher.putInt(series.getDay(i)).
+                        putDouble(series.getValue(i));
+            }
+        }
+        return hasher;
+    }
+
+    private static void writeChart(Map<String, BenchmarkSeries> values, int startDay, String[] dates,
+                                   String dataHeader, String title, String fileName,
+                                   Predicate<String> isIncluded, String annotations, File resultsDir) throws IOException {
+        if(EXTERNAL_DATA) {
+            // the data-file contains all benchmarks, only show the included ones
+            List<String> visibility = new ArrayList<>();
+            for(String benchmark : values.keySet()) {
+                visibility.add(Boolean.toString(isIncluded.test(benchmark)));
+            }
+
+            writeHtml(EXTERNAL_DATA_CHART, ImmutableMap.of(
+                    "datafile", StreamingTemplate.text(DATA_FILE),
+                    "visibility", StreamingTemplate.text(String.join(", ", visibility)),
+                    "annotations", StreamingTemplate.text(annotations),
+                    "benchmark", StreamingTemplate.text(title)), title, fileName, resultsDir);
+        } else {
+            List<BenchmarkSeries> included = getIncludedSeries(values, startDay, dates, isIncluded);
+
+            writeHtml(CHART, ImmutableMap.of(
+                    "data", out -> writeData(out, startDay, dates, included, DataFormat.inline),
+                    "dataheader", StreamingTemplate.text(dataHeader),
+                    "annotations", StreamingTemplate.text(annotations),
+                    "benchmark", StreamingTemplate.text(title)), title, fileName, resultsDir);
+        }
+    }
+
+    private static void writeDataFile(Map<String, BenchmarkSeries> values, int startDay, String[] dates,
+                                      File resultsDir) throws IOException {
+        System.out.println("Writing data of " + values.size() + " benchmarks to " + DATA_FILE);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                FileUtils.openOutputStream(new File(resultsDir, DATA_FILE)), StandardCharsets.UTF_8))) {
+            out.write("Date," + getBenchmarkNames(values.keySet(), s -> true) + "\n");
+            writeData(out, startDay, dates, getIncludedSeries(values, startDay, dates, s -> true), DataFormat.csv);
+        }
+    }
+
+    private static List<BenchmarkSeries> getIncludedSeries(Map<String, BenchmarkSeries> values, int startDay,
+                                                           String[] dates, Predicate<String> isIncluded) {
+        List<BenchmarkSeries> included = new ArrayList<>();
+        for(Map.Entry<String, BenchmarkSeries> entry : values.entrySet()) {
+            if(isIncluded.test(entry.getKey())) {
+                included.add(entry.getValue().slice(startDay, startDay + dates.length - 1));
+            }
+        }
+        return included;
+    }
+
+    /**
+     * Write one line per day with the values of all the given series, walking
+     * all series in parallel and keeping the current position in each of them.
+     */
+    private static void writeData(Writer out, int startDay, String[] dates, List<BenchmarkSeries> series,
+                                  DataFormat format) throws IOException {
+        int[] indices = new int[series.size()];
+        for(int i = 0; i < dates.length; i++) {
+            // Format: "    \"2008-05-07,75\\n\" +\n" +, without "+" after the last line
+            if(i > 0) {
+                out.write(format.separator);
+            }
+            out.write(format.lineStart);
+            out.write(dates[i]);
+            for(int j = 0; j < series.size(); j++) {
+                out.write(',');
+                if(indices[j] < series.get(j).size() && series.get(j).getDay(indices[j]) == startDay + i) {
+                    out.write(formatValue(series.get(j).getValue(indices[j])));
+                    indices[j]++;
+                }
+            }
+            out.write(format.lineEnd);
+        }
+    }
+
+    private static void writeHtml(StreamingTemplate template, Map<String, StreamingTemplate.Content> contents,
+                                  String benchmark, String fileName, File resultsDir) throws IOException {
         System.out.println("Writing report to " + fileName + ".html for " + benchmark);
-        FileUtils.writeStringToFile(new File(resultsDir, fileName + ".html"), html, "UTF-8");
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                FileUtils.openOutputStream(new File(resultsDir, fileName + ".html")), StandardCharsets.UTF_8))) {
+            template.write(out, contents);
+        }
     }
 
-    private static String formatValue(Double value) {
-        return value == null ? "" : "" + value/1000;
+    private static String formatValue(double value) {
+        return "" + value/1000;
     }
 }
@@ -2,17 +2,31 @@ package org.apache.poi.benchmark;
 
 import com.google.common.base.Preconditions;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.filefilter.SuffixFileFilter;
 import org.apache.commons.lang3.time.FastDateFormat;
 import org.apache.poi.benchmark.email.EmailSender;
 import org.apache.poi.benchmark.email.PropertyAccess;
+import org.apache.poi.benchmark.results.BenchmarkResult;
+import org.apache.poi.benchmark.results.BenchmarkSeries;
+import org.apache.poi.benchmark.results.ChangePointDetector;
+import org.apache.poi.benchmark.results.JmhResultParser;
+import org.apache.poi.benchmark.results.RegressionSummary;
+import org.apache.poi.benchmark.results.Results;
+import org.apache.poi.benchmark.results.ResultsIndex;
 import org.dstadler.commons.email.EmailConfig;
 import org.dstadler.commons.email.MailserverConfig;
+import org.dstadler.commons.logging.jdk.LoggerFactory;
 
 import java.io.File;
+import java.io.FilenameFilter;
 import java.io.IOException;
 import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class PublishResults {
+    private static final Logger log = LoggerFactory.make();
+
     private static final File REPORTS_DIR = new File("build/reports/jmh");
     private static final File RESULTS_DIR = new File("results");
 
@@ -21,6 +35,19 @@ public class PublishResults {
     private static final File LOG_FILE = new File("poi-benchmark.0.0.log");
     private static final File OUTPUT_FILE = new File("benchmark.log");
 
+    // a step is only found when there are some results after it, so steps
+    // are reported for a while after they happened
+    private static final int RECENT_DAYS = 2 * ChangePointDetector.DEFAULT_MIN_SEGMENT;
+
+    // today's result is compared to this number of previous results
+    private static final int OUTLIER_WINDOW = 14;
+
+    // the results are compared to the median of the results in this number of days before
+    private static final int BASELINE_DAYS = Integer.getInteger("results.baselineDays", 14);
+
+    // changes by more than this are highlighted, e.g. 0.1 for 10%
+    private static final double THRESHOLD = Double.parseDouble(System.getProperty("results.threshold", "0.1"));
+
     public static void main(String[] args) throws IOException {
         // read mail-config
         MailserverConfig config = getMailserverConfig();
@@ -31,26 +58,38 @@ public class PublishResults {
             return;
         }
 
-        sendReport(config);
+        // copy the results first, so they are kept even if sending the email fails,
+        // a failed copy, e.g. when the benchmarks are run twice a day, is reported in the email
+        String copyError = "";
+        try {
+            copyReport();
+        } catch (IOException | RuntimeException e) {
+            log.log(Level.WARNING, "Could not copy the results", e);
+            copyError = "Could not copy the results: " + e + "<br/><br/>";
+        }
 
-        copyReport();
+        sendReport(config, copyError);
     }
 
     private static void copyReport() throws IOException {
         File[] files = REPORTS_DIR.listFiles();
         Preconditions.checkNotNull(files, "Did not find files at %s", REPORTS_DIR.getAbsolutePath());
 
+        // check all files first to not copy only some of them
         for(File file : files) {
             File destFile = new File(RESULTS_DIR, TODAY + "-" + file.getName());
-
             Preconditions.checkState(!destFile.exists(), "Should not have the destination file %s, but it already exists!", destFile.getAbsolutePath());
+        }
+
+        for(File file : files) {
+            File destFile = new File(RESULTS_DIR, TODAY + "-" + file.getName());
             System.out.println("Copying file from " + file + " to " + destFile);
 
             FileUtils.copyFile(file, destFile);
         }
     }
 
-    private static void sendReport(MailserverConfig config) throws IOException {
+    private static void sendReport(MailserverConfig config, String copyError) throws IOException {
         EmailSender sender = new EmailSender();
 
         File[] dirFiles = REPORTS_DIR.listFiles();
@@ -73,38 +112,165 @@ public class PublishResults {
         email.setFrom(PropertyAccess.getProperty("mail.from"));
         email.setSubject("Apache POI benchmark results");
 
-        List<String> lines = FileUtils.readLines(new File(REPORTS_DIR, "human.txt"), "UTF-8");
-        Iterator<String> it = lines.iterator();
-        boolean prevWasNewline = false;
-
-        // remove lines starting with "# " and remove duplicate empty lines
-        while(it.hasNext()) {
-            String line = it.next();
-            if(line.startsWith("# ") || line.startsWith("Iteration   1: ")) {
-                it.remove();
-            } else {
-                if(line.isEmpty()) {
-                    if(prevWasNewline) {
-                        it.remove();
-                    } else {
-                        prevWasNewline = true;
-                    }
-                } else {
-                    prevWasNewline = false;
-                }
-            }
-        }
-
-        String report = String.join("\n", lines);
         String msg = "Nightly benchmarks for Apache POI have finished, see the attached files for details.<br/><br/>" +
                 "Charts are available <a href=\"https://rawgit.com/centic9/poi-benchmark/master/results/results.html\">here</a>, " +
                 "see also <a href=\"https://github.com/centic9/poi-benchmark\">https://github.com/centic9/poi-benchmark</a><br/><br/>" +
-                "<pre>" + report + "</pre>";
+                copyError + getResultsReport();
         System.out.println("Sending email to " + email + " with content: " + msg + " and config " + config);
         sender.sendAttachmentEmail(files, config, email, msg);
         System.out.println("Sent email to " + email.getTo());
     }
 
+    /**
+     * Compare today's results with the previous results, the full output of
+     * the benchmarks is attached as "human.txt".
+     *
+     * This is only best-effort, a failure is reported in the email instead of
+     * preventing the email from being sent.
+     */
+    private static String getResultsReport() {
+        try {
+            return compareResults();
+        } catch (IOException | RuntimeException e) {
+            log.log(Level.WARNING, "Could not compare the results", e);
+            return "Could not compare the results: " + e + "<br/><br/>";
+        }
+    }
+
+    private static String compareResults() throws IOException {
+        Map<String, BenchmarkSeries> history = readHistory();
+        Map<String, Double> latest = readLatest();
+
+        int today = BenchmarkSeries.toEpochDay(TODAY);
+
+        BenchmarkSeries revisions = ProcessResults.removeRevisions(history);
+        Double revision = latest.remove(Results.REVISION);
+        if (revision != null) {
+            revisions = revisions.withValue(today, revision);
+        }
+
+        // include today's results for finding steps and outliers
+        Map<String, BenchmarkSeries> values = new TreeMap<>(history);
+        for (Map.Entry<String, Double> entry : latest.entrySet()) {
+            BenchmarkSeries series = values.get(entry.getKey());
+            values.put(entry.getKey(), series == null ?
+                    new BenchmarkSeries(new int[] { today }, new double[] { entry.getValue() }) :
+                    series.withValue(today, entry.getValue()));
+        }
+
+        return (revision == null ? "" : "Measured revision r" + revision.longValue() + " of Apache POI<br/><br/>\n") +
+                getSummaryTable(RegressionSummary.compare(history, latest, today, BASELINE_DAYS)) +
+                getChangesReport(values, revisions, today);
+    }
+
+    /**
+     * A table with the change of each benchmark compared to the median of the previous days.
+     */
+    static String getSummaryTable(List<RegressionSummary.Row> rows) {
+        StringBuilder table = new StringBuilder("<table border=\"1\" cellpadding=\"3\">\n").
+                append("<tr><th>Benchmark</th><th>Today</th><th>Median of last ").append(BASELINE_DAYS).
+                append(" days</th><th>Change</th></tr>\n");
+        for (RegressionSummary.Row row : rows) {
+            final String color;
+            final String change;
+            if (row.isMissing()) {
+                color = "#ffff80";
+                change = "missing";
+            } else if (Double.isNaN(row.getBaseline())) {
+                color = null;
+                change = "new";
+            } else {
+                color = !row.exceeds(THRESHOLD) ? null : row.getRelativeChange() > 0 ? "#ffc0c0" : "#c0ffc0";
+                change = String.format(Locale.ROOT, "%+.1f%%", row.getRelativeChange() * 100);
+            }
+
+            table.append(color == null ? "<tr>" : "<tr style=\"background-color: " + color + "\">").
+                    append("<td>").append(ProcessResults.getBenchmarkName(row.getBenchmark())).append("</td>").
+                    append("<td align=\"right\">").append(formatSeconds(row.getLatest())).append("</td>").
+                    append("<td align=\"right\">").append(formatSeconds(row.getBaseline())).append("</td>").
+                    append("<td align=\"right\">").append(change).append("</td></tr>\n");
+        }
+        table.append("</table><br/>\n");
+
+        return table.toString();
+    }
+
+    private static String formatSeconds(double millis) {
+        return Double.isNaN(millis) ? "" : String.format(Locale.ROOT, "%.2fs", millis / 1000);
+    }
+
+    /**
+     * Look for steps in the results of the last days and check if today's results are outliers.
+     */
+    private static String getChangesReport(Map<String, BenchmarkSeries> values, BenchmarkSeries revisions, int today) {
+        ChangePointDetector detector = new ChangePointDetector();
+
+        StringBuilder changes = new StringBuilder();
+        for (Map.Entry<String, BenchmarkSeries> entry : values.entrySet()) {
+            String name = ProcessResults.getBenchmarkName(entry.getKey());
+            for (ChangePointDetector.Step step : detector.findSteps(entry.getValue())) {
+                if (step.getDay() > today - RECENT_DAYS) {
+                    changes.append("<li>").append(name).append(": step on ").append(BenchmarkSeries.toDate(step.getDay())).
+                            append(" of ").append(ProcessResults.formatStep(step, revisions)).append("</li>\n");
+                }
+            }
+
+            for (ChangePointDetector.Outlier outlier : detector.findOutliers(entry.getValue(), OUTLIER_WINDOW)) {
+                if (outlier.getDay() == today) {
+                    changes.append("<li>").append(name).append(": today's result is an outlier, ").
+                            append(String.format(Locale.ROOT, "%.2fs compared to a median of %.2fs",
+                                    outlier.getValue() / 1000, outlier.getMedian() / 1000)).
+                            append("</li>\n");
+                }
+            }
+        }
+
+        if (changes.length() == 0) {
+            return "No changes found in the results of the last " + RECENT_DAYS + " days<br/><br/>";
+        }
+
+        return "Changes found in the results of the last " + RECENT_DAYS + " days:<ul>\n" + changes + "</ul>";
+    }
+
+    /**
+     * Read the previous results via the index which is shared with {@link ProcessResults},
+     * so only the files which were added since the last run are parsed. This includes
+     * today's results if they were copied already.
+     */
+    private static Map<String, BenchmarkSeries> readHistory() throws IOException {
+        File[] files = RESULTS_DIR.listFiles((FilenameFilter) new SuffixFileFilter("-results.json"));
+        Preconditions.checkNotNull(files, "Directory %s does not exist", RESULTS_DIR.getAbsolutePath());
+
+        ResultsIndex index = new ResultsIndex(ProcessResults.INDEX_FILE);
+        index.update(files);
+
+        return index.readSeries();
+    }
+
+    /**
+     * Read today's results from the reports, they are compared to the history which may already
+     * contain them as they are copied to the results before sending the email. Today's values in
+     * the history are replaced and not part of the baseline.
+     *
+     * The measured revision is included as {@link Results#REVISION} if it was recorded.
+     */
+    private static Map<String, Double> readLatest() throws IOException {
+        Map<String, Double> latest = new TreeMap<>();
+        File file = new File(REPORTS_DIR, "results.json");
+        if (file.exists()) {
+            for (BenchmarkResult result : new JmhResultParser(true).parse(file)) {
+                latest.put(result.getBenchmark(), result.getScore());
+
+                Double revision = result.getSecondaryMetrics().get(Results.REVISION);
+                if (revision != null) {
+                    latest.put(Results.REVISION, revision);
+                }
+            }
+        }
+
+        return latest;
+    }
+
     private static void sendReportNotFound(MailserverConfig config) throws IOException {
         EmailSender sender = new EmailSender();
 
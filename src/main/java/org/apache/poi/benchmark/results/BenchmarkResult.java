@@ -0,0 +1,41 @@
+package org.apache.poi.benchmark.results;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The values of one entry in a JMH result json-file which are
+ * used for post-processing.
+ */
+public class BenchmarkResult {
+    private final String benchmark;
+    private final double score;
+    private final Map<String, Double> secondaryMetrics;
+
+    public BenchmarkResult(String benchmark, double score, Map<String, Double> secondaryMetrics) {
+        this.benchmark = benchmark;
+        this.score = score;
+        this.secondaryMetrics = Collections.unmodifiableMap(secondaryMetrics);
+    }
+
+    public String getBenchmark() {
+        return benchmark;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    /**
+     * @return The scores of the secondary metrics by their name, empty if
+     *      secondary metrics were not requested when parsing the file
+     */
+    public Map<String, Double> getSecondaryMetrics() {
+        return secondaryMetrics;
+    }
+
+    @Override
+    public String toString() {
+        return benchmark + ": " + score + (secondaryMetrics.isEmpty() ? "" : " " + secondaryMetrics);
+    }
+}
@@ -0,0 +1,209 @@
+package org.apache.poi.benchmark.results;
+
+import com.google.common.base.Preconditions;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The daily results of one benchmark, stored as primitive arrays of
+ * epoch-days and scores which are sorted by day.
+ *
+ * Slices share the arrays with the series they are taken from, so
+ * restricting a series to a range of days does not copy any data.
+ */
+public final class BenchmarkSeries {
+    private final int[] days;
+    private final double[] values;
+    private final int offset;
+    private final int length;
+
+    /**
+     * @param days The epoch-days in ascending order without duplicates, the array is not copied
+     * @param values The score for each of the days, the array is not copied
+     */
+    public BenchmarkSeries(int[] days, double[] values) {
+        this(days, values, 0, days.length);
+
+        Preconditions.checkArgument(days.length == values.length,
+                "Need the same number of days and values, but had %s and %s", days.length, values.length);
+        for (int i = 1; i < days.length; i++) {
+            Preconditions.checkArgument(days[i - 1] < days[i],
+                    "Days need to be sorted ascending, but had %s before %s", days[i - 1], days[i]);
+        }
+    }
+
+    private BenchmarkSeries(int[] days, double[] values, int offset, int length) {
+        this.days = days;
+        this.values = values;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Convert the values of a benchmark as provided by {@link Results#getValues()}.
+     *
+     * @param dateValues The scores by date in format "yyyy-MM-dd"
+     * @return A new series with the same values
+     */
+    public static BenchmarkSeries of(Map<String, Double> dateValues) {
+        Map<String, Double> sorted = new TreeMap<>(dateValues);
+
+        int[] days = new int[sorted.size()];
+        double[] values = new double[sorted.size()];
+        int i = 0;
+        for (Map.Entry<String, Double> entry : sorted.entrySet()) {
+            days[i] = toEpochDay(entry.getKey());
+            values[i] = entry.getValue();
+            i++;
+        }
+
+        return new BenchmarkSeries(days, values);
+    }
+
+    public int size() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    public int getDay(int index) {
+        Preconditions.checkElementIndex(index, length);
+        return days[offset + index];
+    }
+
+    public double getValue(int index) {
+        Preconditions.checkElementIndex(index, length);
+        return values[offset + index];
+    }
+
+    /**
+     * @return The first epoch-day with a value, only valid if the series is not empty
+     */
+    public int getFirstDay() {
+        return getDay(0);
+    }
+
+    /**
+     * @return The last epoch-day with a value, only valid if the series is not empty
+     */
+    public int getLastDay() {
+        return getDay(length - 1);
+    }
+
+    /**
+     * Find the index of the given day.
+     *
+     * @param day The epoch-day to look for
+     * @return The index of the day, or (-(insertion point) - 1) if there is
+     *      no value for this day, see {@link Arrays#binarySearch(int[], int)}
+     */
+    public int indexOf(int day) {
+        int index = Arrays.binarySearch(days, offset, offset + length, day);
+        return index >= 0 ? index - offset : index + offset;
+    }
+
+    /**
+     * @param day The epoch-day to look for
+     * @return If there is a value for the given day
+     */
+    public boolean hasValue(int day) {
+        return indexOf(day) >= 0;
+    }
+
+    /**
+     * @param day The epoch-day to look for
+     * @return The value for the given day or {@link Double#NaN} if there is none
+     */
+    public double getValueForDay(int day) {
+        int index = indexOf(day);
+        return index >= 0 ? values[offset + index] : Double.NaN;
+    }
+
+    /**
+     * Restrict the series to a range of days without copying the data.
+     *
+     * @param fromDay The first epoch-day to include
+     * @param toDay The last epoch-day to include
+     * @return A series which contains only the values in the given range
+     */
+    public BenchmarkSeries slice(int fromDay, int toDay) {
+        int from = insertionPoint(fromDay);
+        int to = toDay < fromDay ? from : insertionPoint(toDay + 1);
+
+        return new BenchmarkSeries(days, values, offset + from, to - from);
+    }
+
+    /**
+     * @param day The epoch-day of the value
+     * @param value The score for the day
+     * @return A copy of this series with the value for the given day added or replaced
+     */
+    public BenchmarkSeries withValue(int day, double value) {
+        int index = indexOf(day);
+        int position = index >= 0 ? index : -index - 1;
+        int size = index >= 0 ? length : length + 1;
+
+        int[] newDays = new int[size];
+        double[] newValues = new double[size];
+        System.arraycopy(days, offset, newDays, 0, position);
+        System.arraycopy(values, offset, newValues, 0, position);
+        newDays[position] = day;
+        newValues[position] = value;
+
+        int rest = position + (index >= 0 ? 1 : 0);
+        System.arraycopy(days, offset + rest, newDays, position + 1, length - rest);
+        System.arraycopy(values, offset + rest, newValues, position + 1, length - rest);
+
+        return new BenchmarkSeries(newDays, newValues);
+    }
+
+    private int insertionPoint(int day) {
+        int index = indexOf(day);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    public static int toEpochDay(String date) {
+        return Math.toIntExact(LocalDate.parse(date).toEpochDay());
+    }
+
+    public static String toDate(int epochDay) {
+        return LocalDate.ofEpochDay(epochDay).toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        BenchmarkSeries that = (BenchmarkSeries) o;
+        return Arrays.equals(days, offset, offset + length, that.days, that.offset, that.offset + that.length) &&
+                Arrays.equals(values, offset, offset + length, that.values, that.offset, that.offset + that.length);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = offset; i < offset + length; i++) {
+            result = 31 * result + days[i];
+            result = 31 * result + Double.hashCode(values[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "BenchmarkSeries{" +
+                "size=" + length +
+                (length > 0 ? ", from=" + toDate(getFirstDay()) + ", to=" + toDate(getLastDay()) : "") +
+                '}';
+    }
+}
@@ -0,0 +1,330 @@
+package org.apache.poi.benchmark.results;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Finds lasting steps and single outliers in the results of a benchmark.
+ *
+ * Steps are found via binary segmentation: the split of a range of results
+ * is located via the maximum of the CUSUM of the results, which are clipped
+ * to a few standard deviations around the median first, so single outliers
+ * do not attract the split. The split is kept if the medians before and after
+ * differ by more than the threshold in standard errors, where the standard
+ * deviation is estimated robustly via the median absolute deviation (MAD).
+ * Both halves are then searched for further steps.
+ *
+ * Outliers are scored against the median and MAD of a rolling window of
+ * the results before them.
+ */
+public final class ChangePointDetector {
+    // 1.4826 * MAD estimates the standard deviation of normally distributed values
+    private static final double MAD_SCALE = 1.4826;
+
+    // the standard error of the median is larger than the one of the mean by this factor
+    private static final double MEDIAN_ERROR = 1.2533;
+
+    // values are clipped to this many standard deviations around the median for locating a split
+    private static final double CLIP = 3;
+
+    public static final int DEFAULT_MIN_SEGMENT = 7;
+    public static final double DEFAULT_THRESHOLD = 6;
+    public static final double DEFAULT_MIN_RELATIVE_CHANGE = 0.1;
+
+    private final int minSegment;
+    private final double threshold;
+    private final double minRelativeChange;
+
+    public ChangePointDetector() {
+        this(DEFAULT_MIN_SEGMENT, DEFAULT_THRESHOLD, DEFAULT_MIN_RELATIVE_CHANGE);
+    }
+
+    /**
+     * @param minSegment The minimum number of results before and after a step
+     * @param threshold How many standard errors the medians before and after a step need to differ,
+     *      for outliers how many standard deviations they need to differ from the rolling median
+     * @param minRelativeChange The minimum change relative to the median before, e.g. 0.1 for 10%
+     */
+    public ChangePointDetector(int minSegment, double threshold, double minRelativeChange) {
+        Preconditions.checkArgument(minSegment > 0, "Need a positive segment-length, but had %s", minSegment);
+
+        this.minSegment = minSegment;
+        this.threshold = threshold;
+        this.minRelativeChange = minRelativeChange;
+    }
+
+    /**
+     * @return The steps sorted by day, the medians before and after each step
+     *      are computed up to the neighbouring steps
+     */
+    public List<Step> findSteps(BenchmarkSeries series) {
+        double[] values = new double[series.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = series.getValue(i);
+        }
+
+        List<Integer> splits = new ArrayList<>();
+        findSplits(values, 0, values.length, splits);
+        splits.sort(Comparator.naturalOrder());
+
+        // a split was tested against the whole range it was found in, re-check
+        // it against the results up to the neighbouring splits only
+        List<Step> steps = new ArrayList<>();
+        for (int i = 0; i < splits.size(); i++) {
+            int from = i == 0 ? 0 : splits.get(i - 1);
+            int split = splits.get(i);
+            int to = i == splits.size() - 1 ? values.length : splits.get(i + 1);
+
+            double score = score(values, from, split, to);
+            if (isSignificant(values, from, split, to, score)) {
+                steps.add(new Step(series.getDay(split - 1), series.getDay(split), median(values, from, split), median(values, split, to), score));
+            }
+        }
+
+        return steps;
+    }
+
+    private void findSplits(double[] values, int from, int to, List<Integer> splits) {
+        if (to - from < 2 * minSegment) {
+            return;
+        }
+
+        int split = locateSplit(values, from, to);
+        if (!isSignificant(values, from, split, to, score(values, from, split, to))) {
+            return;
+        }
+
+        splits.add(split);
+        findSplits(values, from, split, splits);
+        findSplits(values, split, to, splits);
+    }
+
+    /**
+     * @return The index of the first result after the maximum of the CUSUM of the clipped results
+     */
+    private int locateSplit(double[] values, int from, int to) {
+        double median = median(values, from, to);
+        double sigma = MAD_SCALE * mad(values, from, to, median);
+
+        double[] clipped = new double[to - from];
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            double value = values[i];
+            if (sigma > 0) {
+                value = Math.max(median - CLIP * sigma, Math.min(median + CLIP * sigma, value));
+            }
+            clipped[i - from] = value;
+            sum += value;
+        }
+        double mean = sum / clipped.length;
+
+        int split = from + minSegment;
+        double cusum = 0;
+        double max = -1;
+        for (int i = 0; i < clipped.length - minSegment; i++) {
+            cusum += clipped[i] - mean;
+            if (i + 1 >= minSegment && Math.abs(cusum) > max) {
+                max = Math.abs(cusum);
+                split = from + i + 1;
+            }
+        }
+
+        return split;
+    }
+
+    /**
+     * @return The difference of the medians before and after the split in standard errors
+     */
+    private static double score(double[] values, int from, int split, int to) {
+        double before = median(values, from, split);
+        double after = median(values, split, to);
+
+        // pooled deviation of both sides from their own median
+        double[] deviations = new double[to - from];
+        for (int i = from; i < to; i++) {
+            deviations[i - from] = Math.abs(values[i] - (i < split ? before : after));
+        }
+        double sigma = MAD_SCALE * median(deviations, 0, deviations.length);
+        double error = MEDIAN_ERROR * sigma * Math.sqrt(1.0 / (split - from) + 1.0 / (to - split));
+
+        if (error == 0) {
+            return before == after ? 0 : Double.POSITIVE_INFINITY;
+        }
+
+        return Math.abs(after - before) / error;
+    }
+
+    private boolean isSignificant(double[] values, int from, int split, int to, double score) {
+        if (split - from < minSegment || to - split < minSegment || score < threshold) {
+            return false;
+        }
+
+        double before = median(values, from, split);
+        return Math.abs(median(values, split, to) - before) >= minRelativeChange * Math.abs(before);
+    }
+
+    /**
+     * @param window The number of results before each result which are used for its score
+     * @return The results which differ from the median of the window by more than the
+     *      threshold in standard deviations and by more than the minimum relative change
+     */
+    public List<Outlier> findOutliers(BenchmarkSeries series, int window) {
+        Preconditions.checkArgument(window > 0, "Need a positive window, but had %s", window);
+
+        double[] values = new double[series.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = series.getValue(i);
+        }
+
+        List<Outlier> outliers = new ArrayList<>();
+        for (int i = window; i < values.length; i++) {
+            double median = median(values, i - window, i);
+            double sigma = MAD_SCALE * mad(values, i - window, i, median);
+            double deviation = values[i] - median;
+            if (deviation == 0 || Math.abs(deviation) < minRelativeChange * Math.abs(median)) {
+                continue;
+            }
+
+            double score = sigma == 0 ? Double.POSITIVE_INFINITY : deviation / sigma;
+            if (Math.abs(score) >= threshold) {
+                outliers.add(new Outlier(series.getDay(i), values[i], median, score));
+            }
+        }
+
+        return outliers;
+    }
+
+    static double median(double[] values, int from, int to) {
+        if (from == to) {
+            return Double.NaN;
+        }
+
+        double[] sorted = Arrays.copyOfRange(values, from, to);
+        Arrays.sort(sorted);
+
+        int count = sorted.length;
+        return count % 2 == 1 ? sorted[count / 2] : (sorted[count / 2 - 1] + sorted[count / 2]) / 2;
+    }
+
+    private static double mad(double[] values, int from, int to, double median) {
+        double[] deviations = new double[to - from];
+        for (int i = from; i < to; i++) {
+            deviations[i - from] = Math.abs(values[i] - median);
+        }
+        return median(deviations, 0, deviations.length);
+    }
+
+    /**
+     * A lasting change of the results of a benchmark.
+     */
+    public static final class Step {
+        private final int previousDay;
+        private final int day;
+        private final double before;
+        private final double after;
+        private final double score;
+
+        private Step(int previousDay, int day, double before, double after, double score) {
+            this.previousDay = previousDay;
+            this.day = day;
+            this.before = before;
+            this.after = after;
+            this.score = score;
+        }
+
+        /**
+         * @return The epoch-day of the last result before the step
+         */
+        public int getPreviousDay() {
+            return previousDay;
+        }
+
+        /**
+         * @return The epoch-day of the first result after the step
+         */
+        public int getDay() {
+            return day;
+        }
+
+        /**
+         * @return The median of the results before the step
+         */
+        public double getBefore() {
+            return before;
+        }
+
+        /**
+         * @return The median of the results after the step
+         */
+        public double getAfter() {
+            return after;
+        }
+
+        /**
+         * @return The change relative to the median before, e.g. 0.2 if the benchmark became 20% slower
+         */
+        public double getRelativeChange() {
+            return (after - before) / before;
+        }
+
+        /**
+         * @return The difference of the medians in standard errors
+         */
+        public double getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return BenchmarkSeries.toDate(day) + ": " + before + " -> " + after + " (score " + score + ")";
+        }
+    }
+
+    /**
+     * A single result which differs a lot from the results before it.
+     */
+    public static final class Outlier {
+        private final int day;
+        private final double value;
+        private final double median;
+        private final double score;
+
+        private Outlier(int day, double value, double median, double score) {
+            this.day = day;
+            this.value = value;
+            this.median = median;
+            this.score = score;
+        }
+
+        public int getDay() {
+            return day;
+        }
+
+        public double getValue() {
+            return value;
+        }
+
+        /**
+         * @return The median of the results in the window before this result
+         */
+        public double getMedian() {
+            return median;
+        }
+
+        /**
+         * @return The deviation from the median in standard deviations, negative if the result was faster
+         */
+        public double getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return BenchmarkSeries.toDate(day) + ": " + value + " (median " + median + ", score " + score + ")";
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package org.apache.poi.benchmark.results;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Streaming reader for the json-files written by JMH.
+ *
+ * Only the name of the benchmark and the score of the primary metric
+ * are extracted, all other parts like "scorePercentiles" or "rawData"
+ * are skipped without building objects for them. Scores of secondary
+ * metrics are only read if requested.
+ *
+ * The values of "@Param" fields are appended to the name of the benchmark,
+ * e.g. "...XSSFScalingBenchmarks.benchmark(cols=20,rows=10000)", so each
+ * combination of parameters is a separate benchmark.
+ */
+public class JmhResultParser {
+    private static final JsonFactory factory = new JsonFactory();
+
+    private final boolean includeSecondaryMetrics;
+
+    public JmhResultParser() {
+        this(false);
+    }
+
+    /**
+     * @param includeSecondaryMetrics If the scores of secondary metrics should be read as well
+     */
+    public JmhResultParser(boolean includeSecondaryMetrics) {
+        this.includeSecondaryMetrics = includeSecondaryMetrics;
+    }
+
+    /**
+     * Read all entries from the given json-file.
+     *
+     * @param file A .json file with results as written by JMH
+     * @return The list of results in the order found in the file
+     * @throws IOException If reading or parsing the file fails
+     */
+    public List<BenchmarkResult> parse(File file) throws IOException {
+        List<BenchmarkResult> results = new ArrayList<>();
+        try (JsonParser parser = factory.createParser(file)) {
+            expect(parser, parser.nextToken(), JsonToken.START_ARRAY);
+
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                results.add(parseEntry(parser));
+            }
+
+            expect(parser, parser.currentToken(), JsonToken.END_ARRAY);
+        }
+
+        return results;
+    }
+
+    private BenchmarkResult parseEntry(JsonParser parser) throws IOException {
+        String benchmark = null;
+        Map<String, String> params = Collections.emptyMap();
+        Double score = null;
+        Map<String, Double> secondaryMetrics = includeSecondaryMetrics ? new LinkedHashMap<>() : Collections.emptyMap();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+
+            if ("benchmark".equals(field)) {
+                benchmark = parser.getValueAsString();
+            } else if ("params".equals(field)) {
+                expect(parser, token, JsonToken.START_OBJECT);
+                params = new LinkedHashMap<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    parser.nextToken();
+                    params.put(name, parser.getValueAsString());
+                }
+            } else if ("primaryMetric".equals(field)) {
+                expect(parser, token, JsonToken.START_OBJECT);
+                score = parseScore(parser);
+            } else if (includeSecondaryMetrics && "secondaryMetrics".equals(field)) {
+                expect(parser, token, JsonToken.START_OBJECT);
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+                    Double value = parseScore(parser);
+                    if (value != null) {
+                        secondaryMetrics.put(name, value);
+                    }
+                }
+            } else {
+                // ignores scalar values and skips over nested arrays and objects
+                parser.skipChildren();
+            }
+        }
+
+        if (benchmark == null || score == null) {
+            throw new IOException("Did not find 'benchmark' and 'primaryMetric.score' in entry ending at " +
+                    parser.currentLocation());
+        }
+
+        return new BenchmarkResult(toKey(benchmark, params), score, secondaryMetrics);
+    }
+
+    /**
+     * @param params The parameters in the order written by JMH, which is sorted by name
+     * @return The name of the benchmark with the parameters appended, or only the name if there are none
+     */
+    static String toKey(String benchmark, Map<String, String> params) {
+        if (params.isEmpty()) {
+            return benchmark;
+        }
+
+        StringJoiner key = new StringJoiner(",", benchmark + "(", ")");
+        params.forEach((name, value) -> key.add(name + "=" + value));
+        return key.toString();
+    }
+
+    /**
+     * @param key The name of a benchmark as returned by {@link BenchmarkResult#getBenchmark()}
+     * @return The name without the parameters
+     */
+    public static String getName(String key) {
+        int start = key.indexOf('(');
+        return start == -1 || !key.endsWith(")") ? key : key.substring(0, start);
+    }
+
+    /**
+     * @param key The name of a benchmark as returned by {@link BenchmarkResult#getBenchmark()}
+     * @return The parameters in the order of the key, empty if the benchmark has none
+     */
+    public static Map<String, String> getParams(String key) {
+        int start = key.indexOf('(');
+        if (start == -1 || !key.endsWith(")")) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, String> params = new LinkedHashMap<>();
+        for (String param : key.substring(start + 1, key.length() - 1).split(",")) {
+            int equals = param.indexOf('=');
+            params.put(param.substring(0, equals), param.substring(equals + 1));
+        }
+        return params;
+    }
+
+    /**
+     * Read the "score" from a metric-object, the parser is positioned
+     * at the end of the object afterwards.
+     */
+    private static Double parseScore(JsonParser parser) throws IOException {
+        Double score = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("score".equals(field)) {
+                // JMH writes "NaN" and infinite values as string
+                score = token == JsonToken.VALUE_STRING ?
+                        Double.parseDouble(parser.getText()) :
+                        parser.getDoubleValue();
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return score;
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but had " + actual + " at " + parser.currentLocation());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.apache.poi.benchmark.results;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Compares the latest result of each benchmark with the median of its
+ * results in the days before.
+ */
+public final class RegressionSummary {
+    private RegressionSummary() {
+    }
+
+    /**
+     * @param history The previous results of each benchmark, results on or after the given day are ignored
+     * @param latest The latest score of each benchmark
+     * @param day The epoch-day of the latest results
+     * @param baselineDays The number of days before the latest results which are used for the baseline
+     * @return One row for each benchmark with a latest result or with results in the baseline days, sorted by name
+     */
+    public static List<Row> compare(Map<String, BenchmarkSeries> history, Map<String, Double> latest,
+                                    int day, int baselineDays) {
+        Preconditions.checkArgument(baselineDays > 0, "Need a positive number of days, but had %s", baselineDays);
+
+        TreeSet<String> benchmarks = new TreeSet<>(history.keySet());
+        benchmarks.addAll(latest.keySet());
+
+        List<Row> rows = new ArrayList<>();
+        for (String benchmark : benchmarks) {
+            BenchmarkSeries series = history.get(benchmark);
+            BenchmarkSeries baseline = series == null ? null : series.slice(day - baselineDays, day - 1);
+            Double score = latest.get(benchmark);
+
+            // benchmarks which were removed a while ago are not reported as missing
+            if (score == null && (baseline == null || baseline.isEmpty())) {
+                continue;
+            }
+
+            rows.add(new Row(benchmark, score == null ? Double.NaN : score,
+                    baseline == null ? Double.NaN : median(baseline), baseline == null ? 0 : baseline.size()));
+        }
+
+        return rows;
+    }
+
+    private static double median(BenchmarkSeries series) {
+        double[] values = new double[series.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = series.getValue(i);
+        }
+
+        return ChangePointDetector.median(values, 0, values.length);
+    }
+
+    public static final class Row {
+        private final String benchmark;
+        private final double latest;
+        private final double baseline;
+        private final int baselineCount;
+
+        private Row(String benchmark, double latest, double baseline, int baselineCount) {
+            this.benchmark = benchmark;
+            this.latest = latest;
+            this.baseline = baseline;
+            this.baselineCount = baselineCount;
+        }
+
+        public String getBenchmark() {
+            return benchmark;
+        }
+
+        /**
+         * @return The latest score, NaN if the benchmark is missing in the latest results
+         */
+        public double getLatest() {
+            return latest;
+        }
+
+        /**
+         * @return The median of the results in the baseline days, NaN if there were none
+         */
+        public double getBaseline() {
+            return baseline;
+        }
+
+        /**
+         * @return The number of results in the baseline days
+         */
+        public int getBaselineCount() {
+            return baselineCount;
+        }
+
+        /**
+         * @return true if the benchmark had results before, but none in the latest results
+         */
+        public boolean isMissing() {
+            return Double.isNaN(latest);
+        }
+
+        /**
+         * @return The change relative to the baseline, e.g. 0.2 if the benchmark became 20% slower,
+         *      NaN if the benchmark is missing or has no baseline
+         */
+        public double getRelativeChange() {
+            return (latest - baseline) / baseline;
+        }
+
+        /**
+         * @param threshold The relative change, e.g. 0.1 for 10%
+         * @return true if the latest result differs from the baseline by more than the threshold in either direction
+         */
+        public boolean exceeds(double threshold) {
+            return Math.abs(getRelativeChange()) > threshold;
+        }
+
+        @Override
+        public String toString() {
+            return benchmark + ": " + latest + " (baseline " + baseline + " of " + baselineCount + " results)";
+        }
+    }
+}
@@ -1,20 +1,34 @@
 package org.apache.poi.benchmark.results;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Preconditions;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Read all json-files and prepare a map of benchmarks with their
  * daily results.
+ *
+ * The revision of Apache POI which was measured is reported as secondary
+ * metric of each benchmark, it is collected as separate series {@link #REVISION}.
  */
 public class Results {
-    private static final ObjectMapper mapper = new ObjectMapper();
+    /**
+     * The name of the series with the revision of Apache POI for each day,
+     * not a benchmark, so it needs to be removed before charting or comparing.
+     */
+    public static final String REVISION = "svn.revision";
+
+    private static final JmhResultParser parser = new JmhResultParser(true);
+
+    // the number of files which are read by one task when reading in parallel
+    private static final int FILES_PER_TASK = 64;
 
     private final Map<String, Map<String, Double>> values = new TreeMap<>();
 
@@ -22,31 +36,62 @@ public class Results {
      * Read results from the given list of json-files.
      *
      * @param files An array of .json files with results
-     * @return The highest found date
+     * @return The highest found date, null if none of the files contained any results
      * @throws IOException If reading a file fails
      */
     public String readFiles(File[] files) throws IOException {
+        return readFiles(files, 0, files.length, values);
+    }
+
+    /**
+     * Read results from the given list of json-files using multiple threads.
+     *
+     * The array of files is split into ranges which are read into separate maps
+     * by the threads of a fork-join pool. The maps are merged in the order of
+     * the ranges so that the values are the same as when reading the files one
+     * after the other via {@link #readFiles(File[])}.
+     *
+     * @param files An array of .json files with results
+     * @param parallelism The number of threads to use, 1 reads the files in the current thread
+     * @return The highest found date, null if none of the files contained any results
+     * @throws IOException If reading a file fails
+     */
+    public String readFiles(File[] files, int parallelism) throws IOException {
+        Preconditions.checkArgument(parallelism > 0, "Need a positive parallelism, but had %s", parallelism);
+        if (parallelism == 1 || files.length <= FILES_PER_TASK) {
+            return readFiles(files);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        final PartialResults partial;
+        try {
+            partial = pool.invoke(new ReadTask(files, 0, files.length));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdown();
+        }
+
+        partial.mergeInto(values);
+
+        return partial.maxDateStr;
+    }
+
+    private static String readFiles(File[] files, int from, int to, Map<String, Map<String, Double>> values) throws IOException {
         String maxDateStr = null;
-        for(File file : files) {
+        for (int i = from; i < to; i++) {
+            File file = files[i];
             String date = file.getName().replace("-results.json", "");
 
 			try {
-				//noinspection unchecked
-				Map<String, Object>[] userData = mapper.readValue(file, Map[].class);
-				for (Map<String, Object> data : userData) {
-					//noinspection unchecked
-					Map<String, Object> primaryMetric = (Map<String, Object>) data.get("primaryMetric");
-
-					String benchmark = data.get("benchmark").toString();
-					double value = Double.parseDouble(primaryMetric.get("score").toString());
-					//System.out.println("File " + file + ": Found: " + benchmark + ": " + value);
-
-					Map<String, Double> benchmarkValues = values.get(benchmark);
-					if (benchmarkValues == null) {
-						benchmarkValues = new HashMap<>();
+				for (BenchmarkResult result : parser.parse(file)) {
+					//System.out.println("File " + file + ": Found: " + result);
+					addValue(values, result.getBenchmark(), date, result.getScore());
+
+					Double revision = result.getSecondaryMetrics().get(REVISION);
+					if (revision != null) {
+						addValue(values, REVISION, date, revision);
 					}
-					benchmarkValues.put(date, value);
-					values.put(benchmark, benchmarkValues);
 
 					if (maxDateStr == null || maxDateStr.compareTo(date) <= 0) {
 						maxDateStr = date;
@@ -57,12 +102,101 @@ public class Results {
 			}
         }
 
-        Preconditions.checkNotNull(maxDateStr, "Should have a max date now!");
-
         return maxDateStr;
     }
 
+    private static void addValue(Map<String, Map<String, Double>> values, String benchmark, String date, double value) {
+        Map<String, Double> benchmarkValues = values.get(benchmark);
+        if (benchmarkValues == null) {
+            benchmarkValues = new HashMap<>();
+        }
+        benchmarkValues.put(date, value);
+        values.put(benchmark, benchmarkValues);
+    }
+
     public Map<String, Map<String, Double>> getValues() {
         return values;
     }
+
+    /**
+     * Convert the values to primitive series, see {@link BenchmarkSeries}.
+     *
+     * @return The series by name of the benchmark, sorted by name
+     */
+    public Map<String, BenchmarkSeries> getSeries() {
+        Map<String, BenchmarkSeries> series = new TreeMap<>();
+        for (Map.Entry<String, Map<String, Double>> entry : values.entrySet()) {
+            series.put(entry.getKey(), BenchmarkSeries.of(entry.getValue()));
+        }
+        return series;
+    }
+
+    /**
+     * Reads a range of files, splitting it in half as long as it is
+     * larger than {@link #FILES_PER_TASK}.
+     */
+    private static class ReadTask extends RecursiveTask<PartialResults> {
+        private final File[] files;
+        private final int from;
+        private final int to;
+
+        private ReadTask(File[] files, int from, int to) {
+            this.files = files;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected PartialResults compute() {
+            if (to - from <= FILES_PER_TASK) {
+                PartialResults partial = new PartialResults();
+                try {
+                    partial.maxDateStr = readFiles(files, from, to, partial.values);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return partial;
+            }
+
+            int middle = (from + to) >>> 1;
+            ReadTask left = new ReadTask(files, from, middle);
+            ReadTask right = new ReadTask(files, middle, to);
+            left.fork();
+
+            PartialResults rightResults = right.compute();
+            PartialResults leftResults = left.join();
+
+            // values of the later files replace earlier ones, the same as when reading serially
+            rightResults.mergeInto(leftResults.values);
+            leftResults.maxDateStr = max(leftResults.maxDateStr, rightResults.maxDateStr);
+
+            return leftResults;
+        }
+    }
+
+    private static class PartialResults {
+        private final Map<String, Map<String, Double>> values = new TreeMap<>();
+        private String maxDateStr;
+
+        private void mergeInto(Map<String, Map<String, Double>> target) {
+            for (Map.Entry<String, Map<String, Double>> entry : values.entrySet()) {
+                Map<String, Double> benchmarkValues = target.get(entry.getKey());
+                if (benchmarkValues == null) {
+                    target.put(entry.getKey(), entry.getValue());
+                } else {
+                    benchmarkValues.putAll(entry.getValue());
+                }
+            }
+        }
+    }
+
+    private static String max(String date1, String date2) {
+        if (date1 == null) {
+            return date2;
+        }
+        if (date2 == null) {
+            return date1;
+        }
+        return date1.compareTo(date2) >= 0 ? date1 : date2;
+    }
 }
@@ -0,0 +1,249 @@
+package org.apache.poi.benchmark.results;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A persistent, append-only index of the daily results which avoids
+ * parsing all the json-files again on every run.
+ *
+ * The file consists of segments, each segment holds the results of all
+ * json-files which were newer than the previous segment, stored as
+ * date-sorted columns of epoch-days and scores per benchmark.
+ *
+ * Segments are only ever appended, the date of the newest file of
+ * the last segment acts as high-water mark for the next update.
+ * A truncated segment at the end of the file, e.g. after a crash
+ * while writing, is ignored and overwritten by the next update.
+ *
+ * Delete the file to rebuild the index from scratch, e.g. if results
+ * for older dates are added.
+ */
+public class ResultsIndex {
+    private static final int MAGIC = 0x504F4901;
+
+    // magic, length of the body and high-water mark
+    private static final int SEGMENT_HEADER_SIZE = 3 * Integer.BYTES;
+
+    private final File file;
+    private final int parallelism;
+
+    public ResultsIndex(File file) {
+        this(file, 1);
+    }
+
+    /**
+     * @param file The file which stores the index
+     * @param parallelism The number of threads to use for reading new files,
+     *      see {@link Results#readFiles(File[], int)}
+     */
+    public ResultsIndex(File file, int parallelism) {
+        this.file = file;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Return the date of the newest result-file which is included in the index.
+     *
+     * @return The date as "yyyy-MM-dd" or null if the index is empty
+     * @throws IOException If reading the index fails
+     */
+    public String getHighWaterMark() throws IOException {
+        Scan scan = scan(null);
+        return scan.highWaterMark == Integer.MIN_VALUE ? null : BenchmarkSeries.toDate(scan.highWaterMark);
+    }
+
+    /**
+     * Add all files which are newer than the current high-water mark
+     * as new segment to the index.
+     *
+     * @param files An array of .json files with results, usually all available files
+     * @return The number of files which were added to the index
+     * @throws IOException If reading a file or writing the index fails
+     */
+    public int update(File[] files) throws IOException {
+        Scan scan = scan(null);
+        String highWaterMark = scan.highWaterMark == Integer.MIN_VALUE ? null : BenchmarkSeries.toDate(scan.highWaterMark);
+
+        List<File> newFiles = new ArrayList<>();
+        for (File resultFile : files) {
+            if (highWaterMark == null || getDate(resultFile).compareTo(highWaterMark) > 0) {
+                newFiles.add(resultFile);
+            }
+        }
+
+        if (newFiles.isEmpty()) {
+            return 0;
+        }
+
+        newFiles.sort(Comparator.comparing(ResultsIndex::getDate));
+
+        Results results = new Results();
+        results.readFiles(newFiles.toArray(new File[0]), parallelism);
+
+        // the newest file defines the high-water mark, even if it did not contain any results
+        byte[] segment = writeSegment(results.getValues(), BenchmarkSeries.toEpochDay(getDate(newFiles.get(newFiles.size() - 1))));
+
+        if (file.getParentFile() != null && !file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
+            throw new IOException("Could not create directory " + file.getParentFile());
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // drop any incomplete segment which was left over by a previous run
+            channel.truncate(scan.validLength);
+            channel.position(scan.validLength);
+
+            ByteBuffer buffer = ByteBuffer.wrap(segment);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+
+        return newFiles.size();
+    }
+
+    /**
+     * Read the series of all benchmarks from the index.
+     *
+     * @return The series by name of the benchmark, sorted by name
+     * @throws IOException If reading the index fails
+     */
+    public Map<String, BenchmarkSeries> readSeries() throws IOException {
+        Map<String, Column> columns = new TreeMap<>();
+        scan(columns);
+
+        Map<String, BenchmarkSeries> series = new TreeMap<>();
+        for (Map.Entry<String, Column> entry : columns.entrySet()) {
+            Column column = entry.getValue();
+            series.put(entry.getKey(), new BenchmarkSeries(
+                    Arrays.copyOf(column.days, column.size),
+                    Arrays.copyOf(column.scores, column.size)));
+        }
+
+        return series;
+    }
+
+    /**
+     * Walk all complete segments of the index-file via a memory-mapped buffer,
+     * optionally collecting the columns of all benchmarks.
+     */
+    private Scan scan(Map<String, Column> columns) throws IOException {
+        Scan scan = new Scan();
+        if (!file.exists()) {
+            return scan;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            while (buffer.remaining() >= SEGMENT_HEADER_SIZE) {
+                if (buffer.getInt() != MAGIC) {
+                    break;
+                }
+
+                int length = buffer.getInt();
+                int highWaterMark = buffer.getInt();
+                if (length < 0 || buffer.remaining() < length) {
+                    break;
+                }
+
+                int end = buffer.position() + length;
+                if (columns != null) {
+                    readSegment(buffer, columns);
+                }
+                buffer.position(end);
+
+                scan.highWaterMark = highWaterMark;
+                scan.validLength = end;
+            }
+        }
+
+        return scan;
+    }
+
+    private static void readSegment(ByteBuffer buffer, Map<String, Column> columns) {
+        int benchmarks = buffer.getInt();
+        for (int b = 0; b < benchmarks; b++) {
+            byte[] name = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(name);
+            int count = buffer.getInt();
+
+            Column column = columns.computeIfAbsent(new String(name, StandardCharsets.UTF_8), k -> new Column());
+            column.ensureCapacity(column.size + count);
+            for (int i = 0; i < count; i++) {
+                column.days[column.size + i] = buffer.getInt();
+            }
+            for (int i = 0; i < count; i++) {
+                column.scores[column.size + i] = buffer.getDouble();
+            }
+            column.size += count;
+        }
+    }
+
+    private static byte[] writeSegment(Map<String, Map<String, Double>> values, int highWaterMark) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream body = new DataOutputStream(bytes)) {
+            body.writeInt(values.size());
+            for (Map.Entry<String, Map<String, Double>> entry : values.entrySet()) {
+                byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                body.writeShort(name.length);
+                body.write(name);
+
+                // store the values sorted by date so that appending segments keeps the columns sorted
+                Map<String, Double> sorted = new TreeMap<>(entry.getValue());
+                body.writeInt(sorted.size());
+                for (String date : sorted.keySet()) {
+                    body.writeInt(BenchmarkSeries.toEpochDay(date));
+                }
+                for (Double score : sorted.values()) {
+                    body.writeDouble(score);
+                }
+            }
+        }
+
+        ByteBuffer segment = ByteBuffer.allocate(SEGMENT_HEADER_SIZE + bytes.size());
+        segment.putInt(MAGIC);
+        segment.putInt(bytes.size());
+        segment.putInt(highWaterMark);
+        segment.put(bytes.toByteArray());
+
+        return segment.array();
+    }
+
+    private static String getDate(File file) {
+        return file.getName().replace("-results.json", "");
+    }
+
+    private static class Scan {
+        private int highWaterMark = Integer.MIN_VALUE;
+        private long validLength = 0;
+    }
+
+    private static class Column {
+        private int[] days = new int[0];
+        private double[] scores = new double[0];
+        private int size;
+
+        private void ensureCapacity(int capacity) {
+            if (days.length < capacity) {
+                int newCapacity = Math.max(capacity, days.length * 2);
+                days = Arrays.copyOf(days, newCapacity);
+                scores = Arrays.copyOf(scores, newCapacity);
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package org.apache.poi.benchmark.results;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Groups the results of a parameter sweep into curves and fits how they scale.
+ *
+ * A curve consists of the results of one benchmark where only the given
+ * numeric parameter varies, e.g. "rows" for "benchmark(cols=20,rows=10000)",
+ * "benchmark(cols=20,rows=100000)" and so on. The scaling exponent is the slope
+ * of the least-squares line through the results on a log-log scale, e.g. about
+ * 1 if doubling the rows doubles the time and 2 for quadratic behavior.
+ */
+public final class ScalingCurves {
+    private ScalingCurves() {
+    }
+
+    /**
+     * @param results The results by name of the benchmark including the parameters,
+     *      see {@link JmhResultParser#getParams(String)}
+     * @param param The name of the parameter which varies along the curves
+     * @return The curves with at least two positive results, sorted by name
+     */
+    public static List<Curve> curves(Map<String, Double> results, String param) {
+        // the values of the parameter by name of the curve, sorted numerically
+        Map<String, TreeMap<Double, Double>> points = new TreeMap<>();
+        for (Map.Entry<String, Double> entry : results.entrySet()) {
+            Map<String, String> params = JmhResultParser.getParams(entry.getKey());
+            String value = params.get(param);
+            if (value == null || !(entry.getValue() > 0)) {
+                continue;
+            }
+
+            final double x;
+            try {
+                x = Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if (x <= 0) {
+                continue;
+            }
+
+            Map<String, String> others = new LinkedHashMap<>(params);
+            others.remove(param);
+            points.computeIfAbsent(JmhResultParser.toKey(JmhResultParser.getName(entry.getKey()), others),
+                    name -> new TreeMap<>()).put(x, entry.getValue());
+        }
+
+        List<Curve> curves = new ArrayList<>();
+        for (Map.Entry<String, TreeMap<Double, Double>> entry : points.entrySet()) {
+            if (entry.getValue().size() < 2) {
+                continue;
+            }
+
+            double[] x = new double[entry.getValue().size()];
+            double[] y = new double[x.length];
+            int i = 0;
+            for (Map.Entry<Double, Double> point : entry.getValue().entrySet()) {
+                x[i] = point.getKey();
+                y[i] = point.getValue();
+                i++;
+            }
+
+            curves.add(new Curve(entry.getKey(), param, x, y));
+        }
+
+        return curves;
+    }
+
+    /**
+     * @return The slope of the least-squares line through the points on a log-log scale
+     */
+    static double fitExponent(double[] x, double[] y) {
+        Preconditions.checkArgument(x.length == y.length && x.length >= 2,
+                "Need at least two points with x and y, but had %s and %s", x.length, y.length);
+
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < x.length; i++) {
+            meanX += Math.log(x[i]);
+            meanY += Math.log(y[i]);
+        }
+        meanX /= x.length;
+        meanY /= x.length;
+
+        double covariance = 0;
+        double variance = 0;
+        for (int i = 0; i < x.length; i++) {
+            double dx = Math.log(x[i]) - meanX;
+            covariance += dx * (Math.log(y[i]) - meanY);
+            variance += dx * dx;
+        }
+
+        return variance == 0 ? Double.NaN : covariance / variance;
+    }
+
+    public static final class Curve {
+        private final String name;
+        private final String param;
+        private final double[] x;
+        private final double[] y;
+        private final double exponent;
+
+        private Curve(String name, String param, double[] x, double[] y) {
+            this.name = name;
+            this.param = param;
+            this.x = x;
+            this.y = y;
+            this.exponent = fitExponent(x, y);
+        }
+
+        /**
+         * @return The name of the benchmark with the parameters which are fixed along the curve
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The name of the parameter which varies along the curve
+         */
+        public String getParam() {
+            return param;
+        }
+
+        /**
+         * @return The values of the parameter in ascending order
+         */
+        public double[] getX() {
+            return x.clone();
+        }
+
+        /**
+         * @return The result for each value of the parameter
+         */
+        public double[] getY() {
+            return y.clone();
+        }
+
+        /**
+         * @return The slope on a log-log scale, NaN if all points have the same value of the parameter
+         */
+        public double getExponent() {
+            return exponent;
+        }
+
+        @Override
+        public String toString() {
+            return name + " over " + param + ": exponent " + exponent;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.apache.poi.benchmark.results;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Durations of the test-classes and tests of one module of Apache POI in seconds,
+ * as read from the JUnit XML reports which are written by Gradle.
+ */
+public class TestTimings {
+    // shorter tests are only included in the duration of their class
+    private static final double MIN_TEST_SECONDS = 0.01;
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private static final XMLInputFactory factory = XMLInputFactory.newInstance();
+    static {
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private String module;
+    private final Map<String, Double> classes = new TreeMap<>();
+    private final Map<String, Double> tests = new TreeMap<>();
+
+    // for Jackson
+    @SuppressWarnings("unused")
+    private TestTimings() {
+    }
+
+    public TestTimings(String module) {
+        this.module = module;
+    }
+
+    public String getModule() {
+        return module;
+    }
+
+    /**
+     * @return The duration of each test-class by name of the class
+     */
+    public Map<String, Double> getClasses() {
+        return classes;
+    }
+
+    /**
+     * @return The duration of each test by "class.test", only tests taking at least 10ms are included
+     */
+    public Map<String, Double> getTests() {
+        return tests;
+    }
+
+    /**
+     * Read one "TEST-*.xml" file via a streaming parser, so even the large
+     * reports of the integration-tests do not need to be kept in memory.
+     *
+     * @param report A report as written by the Gradle task "test"
+     * @throws IOException If reading or parsing the file fails
+     */
+    public void addReport(File report) throws IOException {
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(report.toPath()))) {
+            XMLStreamReader reader = factory.createXMLStreamReader(stream);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                        continue;
+                    }
+
+                    if ("testsuite".equals(reader.getLocalName())) {
+                        classes.merge(reader.getAttributeValue(null, "name"),
+                                parseTime(reader, report), Double::sum);
+                    } else if ("testcase".equals(reader.getLocalName())) {
+                        double time = parseTime(reader, report);
+                        if (time >= MIN_TEST_SECONDS) {
+                            tests.merge(reader.getAttributeValue(null, "classname") + "." +
+                                    reader.getAttributeValue(null, "name"), time, Double::sum);
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to parse " + report, e);
+        }
+    }
+
+    private static double parseTime(XMLStreamReader reader, File report) throws IOException {
+        String time = reader.getAttributeValue(null, "time");
+        if (time == null) {
+            return 0;
+        }
+
+        try {
+            return Double.parseDouble(time);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid time '" + time + "' in " + report, e);
+        }
+    }
+
+    public void write(File file) throws IOException {
+        mapper.writeValue(file, this);
+    }
+
+    public static TestTimings read(File file) throws IOException {
+        return mapper.readValue(file, TestTimings.class);
+    }
+}
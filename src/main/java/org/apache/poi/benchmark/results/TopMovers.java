@@ -0,0 +1,120 @@
+package org.apache.poi.benchmark.results;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the latest durations of tests with the median of their
+ * durations in previous runs to find the slowest and most regressed ones.
+ */
+public final class TopMovers {
+    private TopMovers() {
+    }
+
+    /**
+     * @param module The module which the durations belong to
+     * @param latest The durations of the latest run by name
+     * @param previous The durations of previous runs, the baseline is the median of all runs which have a value
+     * @return One entry for each name in the latest run
+     */
+    public static List<Entry> compare(String module, Map<String, Double> latest, List<Map<String, Double>> previous) {
+        List<Entry> entries = new ArrayList<>(latest.size());
+        double[] values = new double[previous.size()];
+        for (Map.Entry<String, Double> entry : latest.entrySet()) {
+            int count = 0;
+            for (Map<String, Double> run : previous) {
+                Double value = run.get(entry.getKey());
+                if (value != null) {
+                    values[count++] = value;
+                }
+            }
+
+            entries.add(new Entry(module, entry.getKey(), entry.getValue(), median(values, count)));
+        }
+
+        return entries;
+    }
+
+    static double median(double[] values, int count) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+
+        double[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+
+        return count % 2 == 1 ? sorted[count / 2] : (sorted[count / 2 - 1] + sorted[count / 2]) / 2;
+    }
+
+    /**
+     * @return The given number of entries with the longest latest duration
+     */
+    public static List<Entry> slowest(Collection<Entry> entries, int count) {
+        return entries.stream().
+                sorted(Comparator.comparingDouble(Entry::getLatest).reversed()).
+                limit(count).
+                collect(Collectors.toList());
+    }
+
+    /**
+     * @return The given number of entries which became slower by the most seconds compared to the baseline,
+     *      entries without baseline or which became faster are not included
+     */
+    public static List<Entry> mostRegressed(Collection<Entry> entries, int count) {
+        return entries.stream().
+                filter(entry -> entry.getDelta() > 0).
+                sorted(Comparator.comparingDouble(Entry::getDelta).reversed()).
+                limit(count).
+                collect(Collectors.toList());
+    }
+
+    public static final class Entry {
+        private final String module;
+        private final String name;
+        private final double latest;
+        private final double baseline;
+
+        private Entry(String module, String name, double latest, double baseline) {
+            this.module = module;
+            this.name = name;
+            this.latest = latest;
+            this.baseline = baseline;
+        }
+
+        public String getModule() {
+            return module;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getLatest() {
+            return latest;
+        }
+
+        /**
+         * @return The median of the previous runs, NaN if there was no previous value
+         */
+        public double getBaseline() {
+            return baseline;
+        }
+
+        /**
+         * @return How much slower the latest run was, NaN if there was no previous value
+         */
+        public double getDelta() {
+            return latest - baseline;
+        }
+
+        @Override
+        public String toString() {
+            return module + ":" + name + ": " + latest + " (baseline " + baseline + ")";
+        }
+    }
+}
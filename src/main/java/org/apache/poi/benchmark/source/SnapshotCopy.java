@@ -0,0 +1,118 @@
+package org.apache.poi.benchmark.source;
+
+import org.apache.commons.io.FileUtils;
+import org.dstadler.commons.logging.jdk.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Keeps a working copy in a separate directory, which is updated via another
+ * provider once per run, and copies it for every benchmark. This way each
+ * benchmark starts from the same sources without any build-outputs.
+ *
+ * Large directories which are never modified, i.e. the test-data and the
+ * pristine copies of svn, are hard-linked instead of copied. Other files are
+ * copied as the build modifies some of them in place, which would change the
+ * snapshot as well if they were hard-linked.
+ */
+public class SnapshotCopy implements SourceProvider {
+    private static final Logger log = LoggerFactory.make();
+
+    public static final List<String> DEFAULT_LINKED = Collections.unmodifiableList(
+            Arrays.asList("test-data", ".svn/pristine"));
+
+    private final SourceProvider origin;
+    private final File snapshotDir;
+    private final List<String> linkedPaths;
+    private boolean updated;
+
+    /**
+     * @param origin Updates the snapshot before it is copied for the first time
+     * @param snapshotDir The directory with the working copy which is copied
+     * @param linkedPaths Paths relative to the snapshot which are hard-linked instead of copied
+     */
+    public SnapshotCopy(SourceProvider origin, File snapshotDir, List<String> linkedPaths) {
+        this.origin = origin;
+        this.snapshotDir = snapshotDir;
+        this.linkedPaths = linkedPaths;
+    }
+
+    @Override
+    public void prepare(File dir) throws IOException {
+        if (!updated) {
+            origin.prepare(snapshotDir);
+            updated = true;
+        }
+
+        long start = System.currentTimeMillis();
+        FileUtils.deleteDirectory(dir);
+        int[] counts = copy(snapshotDir.toPath(), dir.toPath());
+
+        log.info("Copied snapshot " + snapshotDir + " to " + dir + " in " +
+                (System.currentTimeMillis() - start) + "ms, linked " + counts[0] + " and copied " + counts[1] + " files");
+    }
+
+    private int[] copy(Path from, Path to) throws IOException {
+        List<Path> linked = new ArrayList<>();
+        for (String path : linkedPaths) {
+            linked.add(from.getFileSystem().getPath(path));
+        }
+
+        int[] counts = new int[2];
+        Files.walkFileTree(from, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(to.resolve(from.relativize(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Path relative = from.relativize(file);
+                if (attrs.isRegularFile() && isLinked(relative, linked)) {
+                    Files.createLink(to.resolve(relative), file);
+                    counts[0]++;
+                } else {
+                    // keep modification times, so svn does not need to compare the content of all files
+                    Files.copy(file, to.resolve(relative), StandardCopyOption.COPY_ATTRIBUTES, LinkOption.NOFOLLOW_LINKS);
+                    counts[1]++;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        return counts;
+    }
+
+    private static boolean isLinked(Path relative, List<Path> linked) {
+        for (Path path : linked) {
+            if (relative.startsWith(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public long getRevision() {
+        return origin.getRevision();
+    }
+
+    @Override
+    public String toString() {
+        return "snapshot " + snapshotDir + " of " + origin;
+    }
+}
@@ -0,0 +1,24 @@
+package org.apache.poi.benchmark.source;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Provides the sources of Apache POI in a local directory before each benchmark.
+ */
+public interface SourceProvider {
+    /**
+     * Bring the directory to the current state of the sources, the
+     * directory is created if it does not exist yet.
+     *
+     * @param dir The directory where the benchmarks build and run Apache POI
+     * @throws IOException If fetching or copying the sources fails
+     */
+    void prepare(File dir) throws IOException;
+
+    /**
+     * @return The revision of the sources which is used for all benchmarks of the
+     *      run, -1 if it is not known yet, i.e. before the first call to {@link #prepare(File)}
+     */
+    long getRevision();
+}
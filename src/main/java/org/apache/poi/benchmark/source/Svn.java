@@ -0,0 +1,67 @@
+package org.apache.poi.benchmark.source;
+
+import org.apache.commons.exec.CommandLine;
+import org.apache.commons.exec.ExecuteException;
+import org.apache.poi.benchmark.util.TailLogOutputStream;
+import org.dstadler.commons.exec.ExecutionHelper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Runs the svn command line tools, e.g. "svn", "svnsync" or "svnadmin".
+ */
+final class Svn {
+    private static final int TAIL_LINES = 100;
+
+    private Svn() {
+    }
+
+    /**
+     * Run the command and send the output to the log.
+     *
+     * @param command The executable followed by its arguments
+     */
+    static void run(File dir, long timeout, String... command) throws IOException {
+        try (TailLogOutputStream out = new TailLogOutputStream(TAIL_LINES)) {
+            try {
+                ExecutionHelper.getCommandResultIntoStream(commandLine(command), dir, 0, timeout,
+                        out, Collections.emptyMap());
+            } catch (ExecuteException e) {
+                throw new IOException("Failed to run " + Arrays.toString(command) +
+                        ", Log-Tail: \n" + String.join("\n    ", out.getLines()), e);
+            }
+        }
+    }
+
+    /**
+     * Run the command and return its output, e.g. for "svn info".
+     *
+     * @param command The executable followed by its arguments
+     */
+    static String output(File dir, long timeout, String... command) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ExecutionHelper.getCommandResultIntoStream(commandLine(command), dir, 0, timeout,
+                    out, Collections.emptyMap());
+        } catch (ExecuteException e) {
+            throw new IOException("Failed to run " + Arrays.toString(command) +
+                    ", output: \n" + out.toString(StandardCharsets.UTF_8.name()), e);
+        }
+
+        return out.toString(StandardCharsets.UTF_8.name()).trim();
+    }
+
+    private static CommandLine commandLine(String... command) {
+        CommandLine cmd = new CommandLine(command[0]);
+        for (int i = 1; i < command.length; i++) {
+            // do not let commons-exec quote arguments like URLs or paths
+            cmd.addArgument(command[i], false);
+        }
+        return cmd;
+    }
+}
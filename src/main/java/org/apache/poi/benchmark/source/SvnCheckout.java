@@ -0,0 +1,119 @@
+package org.apache.poi.benchmark.source;
+
+import com.google.common.base.Preconditions;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.dstadler.commons.logging.jdk.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.logging.Logger;
+
+/**
+ * Checks out or updates a working copy of a svn repository, by default
+ * the sources are taken from the repository of Apache POI via the network.
+ *
+ * The revision is resolved once, all later checkouts and updates are pinned
+ * to it via "-r", so all benchmarks of a run measure the same sources even
+ * if there are new commits while the benchmarks are running.
+ */
+public class SvnCheckout implements SourceProvider {
+    private static final Logger log = LoggerFactory.make();
+
+    public static final String POI_TRUNK = "https://svn.apache.org/repos/asf/poi/trunk";
+
+    private final String url;
+    protected final long timeout;
+    private long revision;
+
+    /**
+     * @param url The URL of the directory in the repository
+     * @param timeout The timeout for each invocation of svn in milliseconds
+     */
+    public SvnCheckout(String url, long timeout) {
+        this(url, -1, timeout);
+    }
+
+    /**
+     * @param url The URL of the directory in the repository
+     * @param revision The revision to check out, -1 to use the latest
+     *      revision at the time of the first call to {@link #prepare(File)}
+     * @param timeout The timeout for each invocation of svn in milliseconds
+     */
+    public SvnCheckout(String url, long revision, long timeout) {
+        Preconditions.checkArgument(revision == -1 || revision > 0, "Invalid revision %s", revision);
+
+        this.url = StringUtils.removeEnd(url, "/");
+        this.revision = revision;
+        this.timeout = timeout;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    @Override
+    public long getRevision() {
+        return revision;
+    }
+
+    @Override
+    public void prepare(File dir) throws IOException {
+        if (revision == -1) {
+            // the last commit which changed the sources below the URL, not the latest revision of the whole repository
+            revision = Long.parseLong(Svn.output(new File("."), timeout,
+                    "svn", "info", "--show-item", "last-changed-revision", url));
+            log.info("Using revision " + revision + " of " + url + " for all benchmarks");
+        }
+
+        // clean up the checkout
+        if (new File(dir, ".svn").exists()) {
+            Svn.run(dir, timeout, "svn", "cleanup");
+
+            // e.g. a working copy of the network-repository when switching to a mirror
+            String current = Svn.output(dir, timeout, "svn", "info", "--show-item", "url");
+            if (!url.equals(current)) {
+                log.info("Replacing working copy of " + current + " in " + dir + " with a checkout of " + url);
+                FileUtils.deleteDirectory(dir);
+            }
+        }
+
+        String rev = Long.toString(revision);
+        if (!new File(dir, ".svn").exists()) {
+            File parent = dir.getAbsoluteFile().getParentFile();
+            FileUtils.forceMkdir(parent);
+            Svn.run(parent, timeout, "svn", "co", "-r", rev, url, dir.getName());
+        } else if (isAtRevision(dir, rev)) {
+            // "svn info" and "svn status" only look at the working copy, so this avoids
+            // a round-trip to the repository for every benchmark of the run
+            log.info("Working copy in " + dir + " is already at revision " + rev);
+        } else {
+            Svn.run(dir, timeout, "svn", "up", "-r", rev);
+        }
+
+        Svn.run(dir, timeout, "svn", "status");
+    }
+
+    /**
+     * @return true if the working copy is at the given revision and no
+     *      versioned files are missing, e.g. because a benchmark removed them
+     */
+    private boolean isAtRevision(File dir, String rev) throws IOException {
+        if (!rev.equals(Svn.output(dir, timeout, "svn", "info", "--show-item", "revision"))) {
+            return false;
+        }
+
+        for (String line : Svn.output(dir, timeout, "svn", "status", "-q").split("\n")) {
+            if (line.startsWith("!")) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "svn " + url + (revision == -1 ? "" : "@" + revision);
+    }
+}
@@ -0,0 +1,56 @@
+package org.apache.poi.benchmark.source;
+
+import org.dstadler.commons.logging.jdk.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.logging.Logger;
+
+/**
+ * Takes the sources from a local mirror of the repository, e.g. a "file://"
+ * repository which is kept up to date via "svnsync", so checkouts and updates
+ * do not depend on the network.
+ *
+ * Optionally the mirror is synchronized with its source repository before the
+ * first checkout of a run, the mirror needs to be initialized via
+ * "svnsync init" for this.
+ */
+public class SvnMirror extends SvnCheckout {
+    private static final Logger log = LoggerFactory.make();
+
+    private final boolean sync;
+    private boolean synced;
+
+    /**
+     * @param url The URL of the directory in the mirror, e.g. "file:///data/poi-mirror/trunk"
+     * @param revision The revision to check out, -1 to use the latest revision after synchronizing
+     * @param sync If "svnsync sync" should be run once before the first checkout
+     * @param timeout The timeout for each invocation of svn in milliseconds
+     */
+    public SvnMirror(String url, long revision, boolean sync, long timeout) {
+        super(url, revision, timeout);
+
+        this.sync = sync;
+    }
+
+    @Override
+    public void prepare(File dir) throws IOException {
+        if (sync && !synced) {
+            File workDir = new File(".");
+            String root = Svn.output(workDir, timeout, "svn", "info", "--show-item", "repos-root-url", getUrl());
+
+            long start = System.currentTimeMillis();
+            Svn.run(workDir, timeout, "svnsync", "sync", root);
+            log.info("Synchronized mirror " + root + " in " + (System.currentTimeMillis() - start) + "ms");
+
+            synced = true;
+        }
+
+        super.prepare(dir);
+    }
+
+    @Override
+    public String toString() {
+        return "svn mirror " + getUrl() + (getRevision() == -1 ? "" : "@" + getRevision()) + (sync ? " with svnsync" : "");
+    }
+}
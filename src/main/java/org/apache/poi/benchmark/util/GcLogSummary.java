@@ -0,0 +1,134 @@
+package org.apache.poi.benchmark.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Summarizes the GC logs written via "-Xlog:gc*" by one or more JVMs.
+ *
+ * Allocation is estimated from the heap usage before each GC minus the usage
+ * after the previous one, plus the growth after the last GC as reported at exit.
+ */
+public class GcLogSummary {
+    // e.g. "[1.234s][info][gc] GC(3) Pause Young (Normal) (G1 Evacuation Pause) 24M->5M(256M) 3.456ms"
+    private static final Pattern PAUSE = Pattern.compile(
+            "GC\\(\\d+\\) Pause .*? (\\d+)([KMG])->(\\d+)([KMG])\\((\\d+)([KMG])\\) (\\d+(?:\\.\\d+)?)ms");
+
+    // e.g. "[5.678s][info][gc,heap,exit]  garbage-first heap   total 262144K, used 41000K [0x..."
+    private static final Pattern EXIT_HEAP = Pattern.compile("total (\\d+)K, used (\\d+)K");
+
+    private long allocatedBytes;
+    private long maxHeapBytes;
+    private double pauseMillis;
+    private int pauseCount;
+    private int jvmCount;
+
+    /**
+     * Add the log of one JVM.
+     *
+     * @param file The file written via "-Xlog:gc*:file=..."
+     * @throws IOException If reading the file fails
+     */
+    public void addLog(File file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            addLog(reader);
+        }
+    }
+
+    void addLog(BufferedReader reader) throws IOException {
+        long usedAfterGC = 0;
+        long usedAtExit = -1;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            Matcher matcher = PAUSE.matcher(line);
+            if (matcher.find()) {
+                long before = toBytes(matcher.group(1), matcher.group(2));
+                long after = toBytes(matcher.group(3), matcher.group(4));
+
+                allocatedBytes += Math.max(0, before - usedAfterGC);
+                maxHeapBytes = Math.max(maxHeapBytes, before);
+                pauseMillis += Double.parseDouble(matcher.group(7));
+                pauseCount++;
+
+                usedAfterGC = after;
+                continue;
+            }
+
+            if (line.contains("[gc,heap,exit")) {
+                matcher = EXIT_HEAP.matcher(line);
+                if (matcher.find()) {
+                    // some collectors report one line per generation
+                    usedAtExit = Math.max(usedAtExit, 0) + Long.parseLong(matcher.group(2)) * 1024;
+                }
+            }
+        }
+
+        if (usedAtExit != -1) {
+            allocatedBytes += Math.max(0, usedAtExit - usedAfterGC);
+            maxHeapBytes = Math.max(maxHeapBytes, usedAtExit);
+        }
+
+        jvmCount++;
+    }
+
+    private static long toBytes(String value, String unit) {
+        long bytes = Long.parseLong(value);
+        switch (unit) {
+            case "G":
+                return bytes * 1024 * 1024 * 1024;
+            case "M":
+                return bytes * 1024 * 1024;
+            default:
+                return bytes * 1024;
+        }
+    }
+
+    /**
+     * @return The estimated number of bytes allocated by all JVMs
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return The highest heap usage of any of the JVMs
+     */
+    public long getMaxHeapBytes() {
+        return maxHeapBytes;
+    }
+
+    /**
+     * @return The sum of all GC pauses of all JVMs
+     */
+    public double getPauseMillis() {
+        return pauseMillis;
+    }
+
+    public int getPauseCount() {
+        return pauseCount;
+    }
+
+    /**
+     * @return The number of logs which were added
+     */
+    public int getJvmCount() {
+        return jvmCount;
+    }
+
+    @Override
+    public String toString() {
+        return "GcLogSummary{" +
+                "allocatedBytes=" + allocatedBytes +
+                ", maxHeapBytes=" + maxHeapBytes +
+                ", pauseMillis=" + pauseMillis +
+                ", pauseCount=" + pauseCount +
+                ", jvmCount=" + jvmCount +
+                '}';
+    }
+}
@@ -0,0 +1,71 @@
+package org.apache.poi.benchmark.util;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps a fingerprint of the inputs for each generated file, so that files
+ * whose inputs did not change since the last run do not need to be written again.
+ *
+ * The manifest is stored as sorted lines of "path=fingerprint".
+ */
+public class OutputManifest {
+    private final File file;
+    private final Map<String, String> fingerprints = new TreeMap<>();
+
+    /**
+     * @param file The file to read the manifest from, a missing file results in an empty manifest
+     * @throws IOException If reading the file fails
+     */
+    public OutputManifest(File file) throws IOException {
+        this.file = file;
+
+        if (file.exists()) {
+            for (String line : FileUtils.readLines(file, "UTF-8")) {
+                int pos = line.lastIndexOf('=');
+                if (pos > 0) {
+                    fingerprints.put(line.substring(0, pos), line.substring(pos + 1));
+                }
+            }
+        }
+    }
+
+    /**
+     * @param output The generated file
+     * @param fingerprint The fingerprint of the current inputs for this file
+     * @return true if the file exists and was generated from inputs with the same fingerprint
+     */
+    public boolean isUpToDate(File output, String fingerprint) {
+        return output.exists() && fingerprint.equals(fingerprints.get(output.getPath()));
+    }
+
+    /**
+     * Record the fingerprint of the inputs which are used to generate the file.
+     *
+     * @param output The generated file
+     * @param fingerprint The fingerprint of the inputs
+     */
+    public void put(File output, String fingerprint) {
+        fingerprints.put(output.getPath(), fingerprint);
+    }
+
+    /**
+     * Store the manifest, should only be called after all files were generated successfully.
+     *
+     * @throws IOException If writing the file fails
+     */
+    public void write() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, String> entry : fingerprints.entrySet()) {
+            lines.add(entry.getKey() + "=" + entry.getValue());
+        }
+
+        FileUtils.writeLines(file, "UTF-8", lines, "\n");
+    }
+}
@@ -0,0 +1,311 @@
+package org.apache.poi.benchmark.util;
+
+import com.google.common.base.Preconditions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the resource usage of all child processes of the current JVM
+ * from the Linux /proc filesystem while they are running.
+ *
+ * CPU time and I/O are taken from the values of the current process, which
+ * include all child processes which finished and were waited for. Memory and
+ * context switches are only available per process, so they are sampled for
+ * all descendant processes in regular intervals.
+ */
+public class ProcessTreeSampler {
+    private static final File PROC = new File("/proc");
+
+    // the kernel reports cpu-times in clock ticks, USER_HZ is 100 on all common Linux platforms
+    private static final long MILLIS_PER_TICK = 10;
+
+    // indices in /proc/<pid>/stat, see proc(5), starting at the field after the process-name
+    private static final int STAT_CUTIME = 16 - 3;
+    private static final int STAT_CSTIME = 17 - 3;
+
+    private final ScheduledExecutorService executor;
+
+    private final long[] startTimes;
+    private final Map<String, Long> startIo;
+
+    // the last sample of each process which was seen so far
+    private final Map<Long, Map<String, Long>> processes = new HashMap<>();
+    private long peakRssKb;
+
+    private ProcessTreeSampler(long intervalMillis) throws IOException {
+        startTimes = readStatTimes("self");
+        startIo = readKeyValues("self", "io");
+
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "process-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::sample, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return true if the /proc filesystem is available
+     */
+    public static boolean isSupported() {
+        return new File(PROC, "self/stat").exists();
+    }
+
+    /**
+     * Start sampling the child processes in the background.
+     *
+     * @param intervalMillis How often the running processes are sampled
+     * @return The running sampler, {@link #stop()} needs to be called to get the results
+     * @throws IOException If reading the values of the current process fails
+     */
+    public static ProcessTreeSampler start(long intervalMillis) throws IOException {
+        Preconditions.checkState(isSupported(), "Directory %s is not available", PROC);
+
+        return new ProcessTreeSampler(intervalMillis);
+    }
+
+    /**
+     * Take one sample of all processes which are currently running below the current JVM.
+     */
+    public synchronized void sample() {
+        long rssKb = 0;
+        Iterator<ProcessHandle> it = ProcessHandle.current().descendants().iterator();
+        while (it.hasNext()) {
+            long pid = it.next().pid();
+            try {
+                Map<String, Long> status = readKeyValues(Long.toString(pid), "status");
+                if (status != null) {
+                    processes.put(pid, status);
+                    rssKb += status.getOrDefault("VmRSS", 0L);
+                }
+            } catch (IOException e) {
+                // the process ended in the meantime
+            }
+        }
+
+        peakRssKb = Math.max(peakRssKb, rssKb);
+    }
+
+    /**
+     * Stop sampling and compute the resource usage since the sampler was started.
+     *
+     * @return The resource usage of the child processes
+     * @throws IOException If reading the values of the current process fails
+     */
+    public Usage stop() throws IOException {
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                throw new IOException("Sampling did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while stopping the sampling", e);
+        }
+
+        // include processes which are still running
+        sample();
+
+        long[] times = readStatTimes("self");
+        Map<String, Long> io = readKeyValues("self", "io");
+
+        synchronized (this) {
+            Usage usage = new Usage();
+            usage.cpuUserMillis = cpuUserMillis(startTimes, times);
+            usage.cpuSystemMillis = cpuSystemMillis(startTimes, times);
+            if (io != null && startIo != null) {
+                usage.readBytes = io.get("read_bytes") - startIo.get("read_bytes");
+                usage.writeBytes = io.get("write_bytes") - startIo.get("write_bytes");
+            }
+
+            usage.peakRssBytes = peakRssKb * 1024;
+            for (Map<String, Long> status : processes.values()) {
+                usage.maxProcessRssBytes = Math.max(usage.maxProcessRssBytes, status.getOrDefault("VmHWM", 0L) * 1024);
+                usage.voluntaryContextSwitches += status.getOrDefault("voluntary_ctxt_switches", 0L);
+                usage.involuntaryContextSwitches += status.getOrDefault("nonvoluntary_ctxt_switches", 0L);
+            }
+            usage.processCount = processes.size();
+
+            return usage;
+        }
+    }
+
+    private static long[] readStatTimes(String pid) throws IOException {
+        String stat = readProcFile(pid, "stat");
+        Preconditions.checkState(stat != null, "Could not read stat of process %s", pid);
+        return parseStat(stat);
+    }
+
+    /**
+     * Parse the numeric fields of /proc/&lt;pid&gt;/stat
+     *
+     * @return The fields after the process-name up to "cstime", i.e. starting with field 3 of proc(5),
+     *      later fields contain unsigned 64-bit values and are not needed here
+     */
+    static long[] parseStat(String stat) {
+        // the process-name can contain spaces and parentheses, so look for the last one
+        String[] fields = stat.substring(stat.lastIndexOf(')') + 2).trim().split(" ");
+
+        long[] values = new long[STAT_CSTIME + 1];
+        for (int i = 1; i < values.length; i++) {
+            values[i] = Long.parseLong(fields[i]);
+        }
+        return values;
+    }
+
+    /**
+     * @return The CPU time in user-mode of the child processes which finished between two
+     *      results of {@link #parseStat(String)}
+     */
+    static long cpuUserMillis(long[] start, long[] end) {
+        return (end[STAT_CUTIME] - start[STAT_CUTIME]) * MILLIS_PER_TICK;
+    }
+
+    /**
+     * @return The CPU time in kernel-mode of the child processes which finished between two
+     *      results of {@link #parseStat(String)}
+     */
+    static long cpuSystemMillis(long[] start, long[] end) {
+        return (end[STAT_CSTIME] - start[STAT_CSTIME]) * MILLIS_PER_TICK;
+    }
+
+    private static Map<String, Long> readKeyValues(String pid, String name) throws IOException {
+        String content = readProcFile(pid, name);
+        return content == null ? null : parseKeyValues(content);
+    }
+
+    /**
+     * Parse files like /proc/&lt;pid&gt;/status or /proc/&lt;pid&gt;/io, non-numeric values are ignored,
+     * sizes are kept in the unit which is used by the file, i.e. "kB" for memory.
+     */
+    static Map<String, Long> parseKeyValues(String content) {
+        Map<String, Long> values = new HashMap<>();
+        for (String line : content.split("\n")) {
+            int pos = line.indexOf(':');
+            if (pos <= 0) {
+                continue;
+            }
+
+            String[] value = line.substring(pos + 1).trim().split("\\s+");
+            try {
+                values.put(line.substring(0, pos), Long.parseLong(value[0]));
+            } catch (NumberFormatException e) {
+                // e.g. the name or state of the process
+            }
+        }
+        return values;
+    }
+
+    private static String readProcFile(String pid, String name) throws IOException {
+        File file = new File(PROC, pid + "/" + name);
+        if (!file.canRead()) {
+            return null;
+        }
+
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The resource usage of all child processes while sampling was running.
+     */
+    public static class Usage {
+        private long cpuUserMillis;
+        private long cpuSystemMillis;
+        private long readBytes = -1;
+        private long writeBytes = -1;
+        private long peakRssBytes;
+        private long maxProcessRssBytes;
+        private long voluntaryContextSwitches;
+        private long involuntaryContextSwitches;
+        private int processCount;
+
+        /**
+         * @return CPU time in user-mode of all finished child processes
+         */
+        public long getCpuUserMillis() {
+            return cpuUserMillis;
+        }
+
+        /**
+         * @return CPU time in kernel-mode of all finished child processes
+         */
+        public long getCpuSystemMillis() {
+            return cpuSystemMillis;
+        }
+
+        /**
+         * @return Bytes read from storage by the current process and all finished child processes,
+         *      -1 if not available
+         */
+        public long getReadBytes() {
+            return readBytes;
+        }
+
+        /**
+         * @return Bytes written to storage by the current process and all finished child processes,
+         *      -1 if not available
+         */
+        public long getWriteBytes() {
+            return writeBytes;
+        }
+
+        /**
+         * @return The highest sum of the resident memory of all child processes in one sample
+         */
+        public long getPeakRssBytes() {
+            return peakRssBytes;
+        }
+
+        /**
+         * @return The highest peak resident memory of one single child process
+         */
+        public long getMaxProcessRssBytes() {
+            return maxProcessRssBytes;
+        }
+
+        /**
+         * @return The voluntary context switches of all child processes as of their last sample
+         */
+        public long getVoluntaryContextSwitches() {
+            return voluntaryContextSwitches;
+        }
+
+        /**
+         * @return The involuntary context switches of all child processes as of their last sample
+         */
+        public long getInvoluntaryContextSwitches() {
+            return involuntaryContextSwitches;
+        }
+
+        /**
+         * @return The number of child processes which were seen while sampling
+         */
+        public int getProcessCount() {
+            return processCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Usage{" +
+                    "cpuUserMillis=" + cpuUserMillis +
+                    ", cpuSystemMillis=" + cpuSystemMillis +
+                    ", readBytes=" + readBytes +
+                    ", writeBytes=" + writeBytes +
+                    ", peakRssBytes=" + peakRssBytes +
+                    ", maxProcessRssBytes=" + maxProcessRssBytes +
+                    ", voluntaryContextSwitches=" + voluntaryContextSwitches +
+                    ", involuntaryContextSwitches=" + involuntaryContextSwitches +
+                    ", processCount=" + processCount +
+                    '}';
+        }
+    }
+}
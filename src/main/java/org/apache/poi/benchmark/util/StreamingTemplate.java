@@ -0,0 +1,76 @@
+package org.apache.poi.benchmark.util;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A simple text-template with placeholders in the form "${name}" which
+ * is written directly to a {@link Writer}.
+ *
+ * The template is split into literal parts once, the content for the
+ * placeholders is provided as callbacks which write to the same writer,
+ * so large contents do not need to be built as string first and the
+ * template is not copied for replacing each of the placeholders.
+ */
+public class StreamingTemplate {
+    /**
+     * Writes the content for one placeholder.
+     */
+    @FunctionalInterface
+    public interface Content {
+        void writeTo(Writer out) throws IOException;
+    }
+
+    // literal text, followed by the placeholder at the same index, the last part has no placeholder
+    private final List<String> parts = new ArrayList<>();
+    private final List<String> placeholders = new ArrayList<>();
+
+    public StreamingTemplate(String template) {
+        int pos = 0;
+        while (true) {
+            int start = template.indexOf("${", pos);
+            if (start == -1) {
+                break;
+            }
+            int end = template.indexOf('}', start);
+            Preconditions.checkArgument(end != -1, "Unterminated placeholder at %s", start);
+
+            parts.add(template.substring(pos, start));
+            placeholders.add(template.substring(start + 2, end));
+            pos = end + 1;
+        }
+        parts.add(template.substring(pos));
+    }
+
+    /**
+     * Write the template with the given contents for the placeholders.
+     *
+     * @param out The writer to write to, it is not closed
+     * @param contents The content for each of the placeholders in the template
+     * @throws IOException If writing fails
+     * @throws IllegalArgumentException If there is no content for one of the placeholders
+     */
+    public void write(Writer out, Map<String, Content> contents) throws IOException {
+        for (int i = 0; i < placeholders.size(); i++) {
+            out.write(parts.get(i));
+
+            Content content = contents.get(placeholders.get(i));
+            Preconditions.checkArgument(content != null, "No content for placeholder '%s'", placeholders.get(i));
+            content.writeTo(out);
+        }
+        out.write(parts.get(parts.size() - 1));
+    }
+
+    /**
+     * @param value A fixed string
+     * @return Content which writes the given string
+     */
+    public static Content text(String value) {
+        return out -> out.write(value);
+    }
+}
@@ -0,0 +1,130 @@
+package org.apache.poi.benchmark.micro;
+
+import org.apache.poi.ss.usermodel.Workbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates and writes workbooks on multiple threads at once, like a server which
+ * generates many exports concurrently. Contention in Apache POI, e.g. in shared
+ * static caches or when loading the XMLBeans type system, only shows up here.
+ *
+ * Each thread of JMH creates its own workbooks, so the score is the number of
+ * workbooks written per second by all threads together. Run a single thread count via
+ *
+ *      ./gradlew microbench -PmicrobenchArgs="ConcurrentBenchmarks -t 4"
+ *
+ * or the sweep over 1, 2, 4, ... threads up to the number of cores via {@link #main(String[])},
+ * which prints the scaling efficiency for each thread count at the end:
+ *
+ *      ./gradlew microbench -PmicrobenchMain=org.apache.poi.benchmark.micro.ConcurrentBenchmarks
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 2, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class ConcurrentBenchmarks {
+    @Param({"HSSF", "XSSF", "SXSSF"})
+    public String format;
+
+    @Param({"1000"})
+    public int rows;
+
+    @Param({"20"})
+    public int cols;
+
+    @Benchmark
+    public void createAndWrite(Blackhole blackhole) throws IOException {
+        Workbook workbook = Workbooks.create(format);
+        try {
+            blackhole.consume(Workbooks.fill(workbook, rows, cols));
+            workbook.write(OutputStream.nullOutputStream());
+        } finally {
+            Workbooks.close(workbook);
+        }
+    }
+
+    /**
+     * Runs the benchmark once for each thread count, the arguments are passed
+     * on to JMH, e.g. "-p format=XSSF". The results of each thread count are
+     * stored in separate files, e.g. "results-4threads.json".
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        Options parent = new CommandLineOptions(args);
+
+        // the score of each format by thread count
+        Map<String, Map<Integer, Double>> scores = new TreeMap<>();
+        for (int threads : threadCounts(Runtime.getRuntime().availableProcessors())) {
+            OptionsBuilder builder = new OptionsBuilder();
+            builder.parent(parent)
+                    .include(ConcurrentBenchmarks.class.getSimpleName())
+                    .threads(threads);
+            if (parent.getResult().hasValue()) {
+                builder.result(withThreads(parent.getResult().get(), threads));
+            }
+            if (parent.getOutput().hasValue()) {
+                builder.output(withThreads(parent.getOutput().get(), threads));
+            }
+
+            for (RunResult result : new Runner(builder.build()).run()) {
+                scores.computeIfAbsent(result.getParams().getParam("format"), format -> new TreeMap<>())
+                        .put(threads, result.getPrimaryResult().getScore());
+            }
+        }
+
+        System.out.println();
+        System.out.println(String.format("%-8s %8s %14s %8s %11s", "Format", "Threads", "Workbooks/s", "Speedup", "Efficiency"));
+        for (Map.Entry<String, Map<Integer, Double>> entry : scores.entrySet()) {
+            Double single = entry.getValue().get(1);
+            for (Map.Entry<Integer, Double> score : entry.getValue().entrySet()) {
+                double speedup = single == null ? Double.NaN : score.getValue() / single;
+                System.out.println(String.format("%-8s %8d %14.2f %8.2f %10.0f%%", entry.getKey(), score.getKey(),
+                        score.getValue(), speedup, speedup / score.getKey() * 100));
+            }
+        }
+    }
+
+    /**
+     * @return 1, 2, 4, ... up to the given number of cores, which is always included
+     */
+    static List<Integer> threadCounts(int cores) {
+        List<Integer> counts = new ArrayList<>();
+        for (int threads = 1; threads < cores; threads *= 2) {
+            counts.add(threads);
+        }
+        counts.add(cores);
+        return counts;
+    }
+
+    private static String withThreads(String file, int threads) {
+        int dot = file.lastIndexOf('.');
+        String suffix = "-" + threads + "threads";
+        return dot > file.lastIndexOf('/') ? file.substring(0, dot) + suffix + file.substring(dot) : file + suffix;
+    }
+}
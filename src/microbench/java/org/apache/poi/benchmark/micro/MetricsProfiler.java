@@ -0,0 +1,78 @@
+package org.apache.poi.benchmark.micro;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reports the high-water mark of the heap during each iteration as "heap.peak"
+ * together with the values which were recorded by the benchmarks via
+ * {@link #record(String, double, String)}, enable it with
+ *
+ *      ./gradlew microbench -PmicrobenchArgs="SXSSFBenchmarks -prof org.apache.poi.benchmark.micro.MetricsProfiler"
+ *
+ * The peak is the sum of the peaks of all heap memory pools, which are reset
+ * before each iteration. It includes garbage which was not yet collected, so
+ * it depends on the heap size and compares settings only for the same "-Xmx".
+ *
+ * This is an internal profiler, so it runs in the forked JVM of the benchmark.
+ */
+public class MetricsProfiler implements InternalProfiler {
+    private static final List<ScalarResult> RESULTS = new ArrayList<>();
+
+    /**
+     * Record a value which is averaged over the iteration, e.g. once per operation.
+     */
+    static synchronized void record(String name, double value, String unit) {
+        RESULTS.add(new ScalarResult(name, value, unit, AggregationPolicy.AVG));
+    }
+
+    private static synchronized List<ScalarResult> drain() {
+        List<ScalarResult> results = new ArrayList<>(RESULTS);
+        RESULTS.clear();
+        return results;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Heap high-water mark and values recorded by the benchmarks";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        // discard values of the previous iteration, e.g. of warmup
+        drain();
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams,
+                                                       IterationParams iterationParams, IterationResult result) {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+
+        List<ScalarResult> results = drain();
+        results.add(new ScalarResult("heap.peak", peak / 1024.0 / 1024.0, "MB", AggregationPolicy.MAX));
+        return results;
+    }
+}
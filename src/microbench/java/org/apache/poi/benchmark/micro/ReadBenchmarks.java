@@ -0,0 +1,229 @@
+package org.apache.poi.benchmark.micro;
+
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads large spreadsheets via the usermodel and via the event-based APIs.
+ *
+ * One operation is one cell, so the score is the number of cells read per
+ * second and "gc.alloc.rate.norm" of the GC profiler is the allocation per cell:
+ *
+ *      ./gradlew microbench -PmicrobenchArgs="ReadBenchmarks -prof gc"
+ *
+ * The fixture files are generated once in "build/fixtures".
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 2, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@OperationsPerInvocation(ReadBenchmarks.CELLS)
+public class ReadBenchmarks {
+    private static final int ROWS = 50_000;
+    private static final int COLS = 20;
+    static final int CELLS = ROWS * COLS;
+
+    private static final File FIXTURES = new File("build/fixtures");
+
+    private File xlsx;
+    private File xls;
+
+    @Setup
+    public void setUp() throws IOException {
+        xlsx = fixture("xlsx", () -> new SXSSFWorkbook(new XSSFWorkbook(), 100, false, true));
+        xls = fixture("xls", HSSFWorkbook::new);
+    }
+
+    private interface WorkbookSupplier {
+        Workbook create();
+    }
+
+    private static File fixture(String extension, WorkbookSupplier supplier) throws IOException {
+        File file = new File(FIXTURES, "read-" + ROWS + "x" + COLS + "." + extension);
+        if (file.exists()) {
+            return file;
+        }
+
+        if (!FIXTURES.exists() && !FIXTURES.mkdirs()) {
+            throw new IOException("Could not create directory " + FIXTURES.getAbsolutePath());
+        }
+
+        // write to a temporary file first to not leave incomplete files behind
+        File tempFile = new File(FIXTURES, file.getName() + ".tmp");
+        Workbook workbook = supplier.create();
+        try (OutputStream out = new FileOutputStream(tempFile)) {
+            Workbooks.fill(workbook, ROWS, COLS);
+            workbook.write(out);
+        } finally {
+            Workbooks.close(workbook);
+        }
+
+        if (!tempFile.renameTo(file)) {
+            throw new IOException("Could not rename " + tempFile + " to " + file);
+        }
+
+        return file;
+    }
+
+    @Benchmark
+    public void xssfUsermodel(Blackhole blackhole) throws Exception {
+        OPCPackage pkg = OPCPackage.open(xlsx, PackageAccess.READ);
+        try {
+            checkCells(readCells(new XSSFWorkbook(pkg), blackhole));
+        } finally {
+            // closing a read-only package would try to save it
+            pkg.revert();
+        }
+    }
+
+    @Benchmark
+    public void xssfEventModel(Blackhole blackhole) throws Exception {
+        OPCPackage pkg = OPCPackage.open(xlsx, PackageAccess.READ);
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+
+            CellCounter counter = new CellCounter(blackhole);
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream sheet = sheets.next()) {
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), strings, counter, false));
+                    parser.parse(new InputSource(sheet));
+                }
+            }
+
+            checkCells(counter.cells);
+        } finally {
+            pkg.revert();
+        }
+    }
+
+    @Benchmark
+    public void hssfUsermodel(Blackhole blackhole) throws IOException {
+        try (POIFSFileSystem fs = new POIFSFileSystem(xls, true)) {
+            checkCells(readCells(new HSSFWorkbook(fs), blackhole));
+        }
+    }
+
+    @Benchmark
+    public void hssfEventModel(Blackhole blackhole) throws IOException {
+        try (POIFSFileSystem fs = new POIFSFileSystem(xls, true)) {
+            int[] cells = new int[1];
+            SSTRecord[] sst = new SSTRecord[1];
+
+            HSSFRequest request = new HSSFRequest();
+            request.addListenerForAllRecords(record -> {
+                switch (record.getSid()) {
+                    case SSTRecord.sid:
+                        sst[0] = (SSTRecord) record;
+                        break;
+                    case NumberRecord.sid:
+                        blackhole.consume(((NumberRecord) record).getValue());
+                        cells[0]++;
+                        break;
+                    case LabelSSTRecord.sid:
+                        blackhole.consume(sst[0].getString(((LabelSSTRecord) record).getSSTIndex()).getString());
+                        cells[0]++;
+                        break;
+                    default:
+                        break;
+                }
+            });
+            new HSSFEventFactory().processWorkbookEvents(request, fs);
+
+            checkCells(cells[0]);
+        }
+    }
+
+    private static int readCells(Workbook workbook, Blackhole blackhole) {
+        int cells = 0;
+        for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
+            Sheet sheet = workbook.getSheetAt(i);
+            for (Row row : sheet) {
+                for (Cell cell : row) {
+                    if (cell.getCellType() == CellType.STRING) {
+                        blackhole.consume(cell.getStringCellValue());
+                    } else {
+                        blackhole.consume(cell.getNumericCellValue());
+                    }
+                    cells++;
+                }
+            }
+        }
+        return cells;
+    }
+
+    private static void checkCells(int cells) {
+        // make sure all cells were actually read, otherwise the score would be wrong
+        if (cells != CELLS) {
+            throw new IllegalStateException("Expected to read " + CELLS + " cells, but had " + cells);
+        }
+    }
+
+    private static class CellCounter implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final Blackhole blackhole;
+        private int cells;
+
+        private CellCounter(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            blackhole.consume(formattedValue);
+            cells++;
+        }
+    }
+}
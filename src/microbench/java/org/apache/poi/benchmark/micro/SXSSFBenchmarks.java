@@ -0,0 +1,134 @@
+package org.apache.poi.benchmark.micro;
+
+import org.apache.poi.util.DefaultTempFileCreationStrategy;
+import org.apache.poi.util.TempFile;
+import org.apache.poi.util.TempFileCreationStrategy;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes large spreadsheets via SXSSF with different settings for the
+ * temporary files which hold the rows that were flushed out of the window:
+ *
+ * <ul>
+ *     <li>window: the number of rows which are kept in memory</li>
+ *     <li>compress: if the temporary files are compressed via gzip</li>
+ *     <li>tempDir: where the temporary files are created, by default a directory
+ *     on disk and one on tmpfs, the latter is only available on Linux</li>
+ * </ul>
+ *
+ * The score is the number of workbooks written per second, the bytes written to
+ * temporary files per workbook are recorded as "sxssf.tempFileBytes". Both these
+ * and the heap high-water mark are only reported with the {@link MetricsProfiler}:
+ *
+ *      ./gradlew microbench -PmicrobenchArgs="SXSSFBenchmarks -prof org.apache.poi.benchmark.micro.MetricsProfiler"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 2, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class SXSSFBenchmarks {
+    @Param({"10", "100", "1000"})
+    public int window;
+
+    @Param({"false", "true"})
+    public boolean compress;
+
+    @Param({"build/sxssf-tmp", "/dev/shm/sxssf-tmp"})
+    public String tempDir;
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"20"})
+    public int cols;
+
+    private CountingTempFileStrategy tempFiles;
+
+    @Setup
+    public void setUp() throws IOException {
+        File dir = new File(tempDir);
+        Files.createDirectories(dir.toPath());
+
+        tempFiles = new CountingTempFileStrategy(new DefaultTempFileCreationStrategy(dir));
+        TempFile.setTempFileCreationStrategy(tempFiles);
+    }
+
+    @TearDown
+    public void tearDown() {
+        TempFile.setTempFileCreationStrategy(new DefaultTempFileCreationStrategy());
+    }
+
+    @Benchmark
+    public void write(Blackhole blackhole) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(null, window, compress);
+        try {
+            blackhole.consume(Workbooks.fill(workbook, rows, cols));
+            workbook.write(OutputStream.nullOutputStream());
+
+            // the temporary files are removed when the workbook is disposed
+            MetricsProfiler.record("sxssf.tempFileBytes", tempFiles.drainBytes(), "bytes");
+        } finally {
+            Workbooks.close(workbook);
+        }
+    }
+
+    /**
+     * Remembers the temporary files which are created, so their size can be
+     * summed up before they are removed.
+     */
+    private static final class CountingTempFileStrategy implements TempFileCreationStrategy {
+        private final TempFileCreationStrategy delegate;
+        private final List<File> files = new ArrayList<>();
+
+        private CountingTempFileStrategy(TempFileCreationStrategy delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public synchronized File createTempFile(String prefix, String suffix) throws IOException {
+            File file = delegate.createTempFile(prefix, suffix);
+            files.add(file);
+            return file;
+        }
+
+        @Override
+        public File createTempDirectory(String prefix) throws IOException {
+            return delegate.createTempDirectory(prefix);
+        }
+
+        /**
+         * @return The size of the files which were created since the last call
+         */
+        private synchronized long drainBytes() {
+            long bytes = 0;
+            for (File file : files) {
+                bytes += file.length();
+            }
+            files.clear();
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package org.apache.poi.benchmark.micro;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs bursts of workbook exports and imports on virtual threads, one per task,
+ * and on a fixed pool of platform threads with one thread per core. Virtual
+ * threads which block while pinned to their carrier thread, e.g. inside a
+ * synchronized block in Apache POI or XMLBeans, lose the advantage.
+ *
+ * One operation is a burst of "tasks" concurrent tasks, each creating and writing
+ * or reading one workbook like the "SSPerformanceTest", see {@link VirtualThreadWriteBenchmarks}
+ * and {@link VirtualThreadReadBenchmarks}. The throughput is the number of bursts per second.
+ * With the {@link MetricsProfiler} the percentiles of the time of each task from being
+ * submitted until it is done are reported as "task.p50", "task.p90" and "task.p99", so
+ * queueing and pinning show up in the tail. The number of "jdk.VirtualThreadPinned" events
+ * of JFR per iteration is reported as "jfr.virtualThreadPinned":
+ *
+ *      ./gradlew microbench -PmicrobenchArgs="VirtualThread -prof org.apache.poi.benchmark.micro.MetricsProfiler"
+ *
+ * Virtual threads need Java 21 or newer, on older versions only "-p threads=platform" can be run.
+ */
+public abstract class VirtualThreadBenchmarks {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final double[] PERCENTILES = { 50, 90, 99 };
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"100"})
+    public int tasks;
+
+    @Param({"1000"})
+    public int rows;
+
+    @Param({"20"})
+    public int cols;
+
+    private ExecutorService executor;
+
+    // the time of each task from being submitted until it is done during the current iteration
+    private long[] latencies = new long[0];
+    private int latencyCount;
+
+    private Recording recording;
+
+    @Setup
+    public void setUp() {
+        executor = "virtual".equals(threads) ?
+                newVirtualThreadPerTaskExecutor() :
+                Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Tasks did not finish after one minute");
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void startRecording() {
+        latencyCount = 0;
+
+        if (!"virtual".equals(threads)) {
+            return;
+        }
+
+        // the default threshold of 20ms would hide short, but frequent pinning
+        recording = new Recording();
+        recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withoutStackTrace();
+        recording.start();
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopRecording() throws IOException {
+        recordLatencies();
+
+        if (recording == null) {
+            return;
+        }
+
+        File file = File.createTempFile("pinned", ".jfr");
+        try {
+            recording.stop();
+            recording.dump(file.toPath());
+
+            long pinned = 0;
+            for (RecordedEvent event : RecordingFile.readAllEvents(file.toPath())) {
+                if (PINNED_EVENT.equals(event.getEventType().getName())) {
+                    pinned++;
+                }
+            }
+            MetricsProfiler.record("jfr.virtualThreadPinned", pinned, "events");
+        } finally {
+            recording.close();
+            recording = null;
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    /**
+     * Report percentiles of the time of the tasks of the iteration, the nearest-rank method
+     * is used, so with the default of 100 tasks per burst even the p99 is based on many bursts.
+     */
+    private void recordLatencies() {
+        if (latencyCount == 0) {
+            return;
+        }
+
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        for (double percentile : PERCENTILES) {
+            int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+            MetricsProfiler.record("task.p" + (int) percentile, sorted[Math.max(rank, 1) - 1] / 1_000_000.0, "ms");
+        }
+    }
+
+    @Benchmark
+    public long burst() throws InterruptedException, ExecutionException {
+        // each task only writes its own element, Future.get() makes the values visible here
+        long[] times = new long[tasks];
+        List<Future<Integer>> futures = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            final int index = i;
+            final long submitted = System.nanoTime();
+            futures.add(executor.submit(() -> {
+                int result = task();
+                times[index] = System.nanoTime() - submitted;
+                return result;
+            }));
+        }
+
+        long result = 0;
+        for (Future<Integer> future : futures) {
+            result += future.get();
+        }
+
+        if (latencyCount + tasks > latencies.length) {
+            latencies = Arrays.copyOf(latencies, Math.max(2 * latencies.length, latencyCount + tasks));
+        }
+        System.arraycopy(times, 0, latencies, latencyCount, tasks);
+        latencyCount += tasks;
+
+        return result;
+    }
+
+    /**
+     * Write or read one workbook, called concurrently by the tasks of a burst.
+     *
+     * @return A value which depends on the result, so it is not optimized away
+     */
+    protected abstract int task() throws IOException;
+
+    /**
+     * Write a workbook with "rows" rows and "cols" columns in the given format.
+     *
+     * @return The content of the written file
+     */
+    protected byte[] write(String format) throws IOException {
+        Workbook workbook = Workbooks.create(format);
+        try {
+            Workbooks.fill(workbook, rows, cols);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            workbook.write(out);
+            return out.toByteArray();
+        } finally {
+            Workbooks.close(workbook);
+        }
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() is called via reflection,
+     * so the benchmarks still compile with Java 11.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual threads need Java 21 or newer, but running on Java " +
+                    System.getProperty("java.version") + ", use -p threads=platform", e);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not create an executor for virtual threads", e);
+        }
+    }
+}
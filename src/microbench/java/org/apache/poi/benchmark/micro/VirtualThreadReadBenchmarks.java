@@ -0,0 +1,46 @@
+package org.apache.poi.benchmark.micro;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+/**
+ * Each task of a burst reads all cells of one workbook, see {@link VirtualThreadBenchmarks}.
+ *
+ * SXSSF can only write, a file written via SXSSF is read via XSSF, so it is not a separate format here.
+ */
+public class VirtualThreadReadBenchmarks extends VirtualThreadBenchmarks {
+    @Param({"HSSF", "XSSF"})
+    public String format;
+
+    // the workbook which is read by each task
+    private byte[] input;
+
+    @Setup
+    public void setUpInput() throws IOException {
+        input = write(format);
+    }
+
+    @Override
+    protected int task() throws IOException {
+        try (Workbook workbook = WorkbookFactory.create(new ByteArrayInputStream(input))) {
+            // a hash of all values as the Blackhole cannot be used by other threads
+            int hash = 0;
+            for (Sheet sheet : workbook) {
+                for (Row row : sheet) {
+                    for (Cell cell : row) {
+                        hash = 31 * hash + cell.toString().hashCode();
+                    }
+                }
+            }
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.apache.poi.benchmark.micro;
+
+import org.openjdk.jmh.annotations.Param;
+
+import java.io.IOException;
+
+/**
+ * Each task of a burst creates and writes one workbook, see {@link VirtualThreadBenchmarks}.
+ */
+public class VirtualThreadWriteBenchmarks extends VirtualThreadBenchmarks {
+    @Param({"HSSF", "XSSF", "SXSSF"})
+    public String format;
+
+    @Override
+    protected int task() throws IOException {
+        return write(format).length;
+    }
+}
@@ -0,0 +1,85 @@
+package org.apache.poi.benchmark.micro;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * Creates and fills the workbooks which are used by the benchmarks.
+ */
+final class Workbooks {
+    // fixed value to produce the same content in every run
+    private static final Date DATE = new Date(1_500_000_000_000L);
+
+    private Workbooks() {
+    }
+
+    /**
+     * @param format One of "HSSF", "XSSF" or "SXSSF"
+     * @return A new, empty workbook
+     */
+    static Workbook create(String format) {
+        switch (format) {
+            case "HSSF":
+                return new HSSFWorkbook();
+            case "XSSF":
+                return new XSSFWorkbook();
+            case "SXSSF":
+                return new SXSSFWorkbook();
+            default:
+                throw new IllegalArgumentException("Unknown format: " + format);
+        }
+    }
+
+    /**
+     * Fill one sheet with strings, numbers and dates, similar to the
+     * "SSPerformanceTest" of the examples of Apache POI.
+     */
+    static Sheet fill(Workbook workbook, int rows, int cols) {
+        CellStyle numberStyle = workbook.createCellStyle();
+        numberStyle.setDataFormat(workbook.createDataFormat().getFormat("0.00"));
+        CellStyle dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+
+        Sheet sheet = workbook.createSheet("Data");
+        for (int rowNum = 0; rowNum < rows; rowNum++) {
+            Row row = sheet.createRow(rowNum);
+            for (int colNum = 0; colNum < cols; colNum++) {
+                Cell cell = row.createCell(colNum);
+                switch (colNum % 3) {
+                    case 0:
+                        cell.setCellValue("Row " + rowNum + " col " + colNum);
+                        break;
+                    case 1:
+                        cell.setCellValue(rowNum * (double) colNum);
+                        cell.setCellStyle(numberStyle);
+                        break;
+                    default:
+                        cell.setCellValue(DATE);
+                        cell.setCellStyle(dateStyle);
+                        break;
+                }
+            }
+        }
+
+        return sheet;
+    }
+
+    /**
+     * Close the workbook and remove temporary files of streaming workbooks.
+     */
+    static void close(Workbook workbook) throws IOException {
+        if (workbook instanceof SXSSFWorkbook) {
+            ((SXSSFWorkbook) workbook).dispose();
+        }
+        workbook.close();
+    }
+}
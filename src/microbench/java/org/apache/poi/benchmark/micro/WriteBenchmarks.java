@@ -0,0 +1,66 @@
+package org.apache.poi.benchmark.micro;
+
+import org.apache.poi.ss.usermodel.Workbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes spreadsheets in-process, this covers the same functionality as
+ * the "SSPerformanceTest" which is run as separate process by the
+ * SSPerformanceBenchmarks, but excludes JVM startup and warmup and
+ * provides error margins across multiple forks.
+ *
+ * Start it via
+ *
+ *      ./gradlew microbench -PmicrobenchArgs="WriteBenchmarks"
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 2, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class WriteBenchmarks {
+    @Param({"HSSF", "XSSF", "SXSSF"})
+    public String format;
+
+    @Param({"1000", "30000"})
+    public int rows;
+
+    @Param({"20"})
+    public int cols;
+
+    @Benchmark
+    public void create(Blackhole blackhole) throws IOException {
+        Workbook workbook = Workbooks.create(format);
+        try {
+            blackhole.consume(Workbooks.fill(workbook, rows, cols));
+        } finally {
+            Workbooks.close(workbook);
+        }
+    }
+
+    @Benchmark
+    public void createAndWrite(Blackhole blackhole) throws IOException {
+        Workbook workbook = Workbooks.create(format);
+        try {
+            blackhole.consume(Workbooks.fill(workbook, rows, cols));
+            workbook.write(OutputStream.nullOutputStream());
+        } finally {
+            Workbooks.close(workbook);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.apache.poi.benchmark;
+
+import org.apache.poi.benchmark.results.BenchmarkSeries;
+import org.apache.poi.benchmark.results.Results;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProcessResultsTest {
+    @Test
+    void testFormatRevisions() {
+        BenchmarkSeries revisions = new BenchmarkSeries(new int[] { 1, 2, 3, 5, 6 },
+                new double[] { 100, 100, 104, 105, 101 });
+
+        assertEquals(", same revision r100", ProcessResults.formatRevisions(revisions, 1, 2));
+        assertEquals(", commits r101-r104", ProcessResults.formatRevisions(revisions, 2, 3));
+        assertEquals(", commits r105", ProcessResults.formatRevisions(revisions, 3, 5));
+        assertEquals(", back from r105 to r101", ProcessResults.formatRevisions(revisions, 5, 6));
+        assertEquals("", ProcessResults.formatRevisions(revisions, 3, 4));
+        assertEquals("", ProcessResults.formatRevisions(revisions, 0, 1));
+    }
+
+    @Test
+    void testRemoveRevisions() {
+        Map<String, BenchmarkSeries> values = new HashMap<>();
+        assertTrue(ProcessResults.removeRevisions(values).isEmpty());
+
+        values.put("a", new BenchmarkSeries(new int[] { 1 }, new double[] { 2 }));
+        values.put(Results.REVISION, new BenchmarkSeries(new int[] { 1 }, new double[] { 100 }));
+        assertEquals(100, ProcessResults.removeRevisions(values).getValueForDay(1));
+        assertFalse(values.containsKey(Results.REVISION));
+        assertEquals(1, values.size());
+    }
+
+    @Test
+    void testGetBenchmarkName() {
+        assertEquals("Build.CompileAll", ProcessResults.getBenchmarkName(
+                "org.apache.poi.benchmark.suite.BuildBenchmarks.benchmarkCompileAll"));
+        assertEquals("XSSFPerformance", ProcessResults.getBenchmarkName(
+                "org.apache.poi.benchmark.suite.SSPerformanceBenchmarks.benchmarkXSSFPerformance"));
+        assertEquals("XSSFScaling(cols=20 rows=10000)", ProcessResults.getBenchmarkName(
+                "org.apache.poi.benchmark.suite.XSSFScalingBenchmarks.benchmark(cols=20,rows=10000)"));
+        assertEquals("XSSFScaling", ProcessResults.getBenchmarkName(
+                "org.apache.poi.benchmark.suite.XSSFScalingBenchmarks.benchmark"));
+    }
+
+    @Test
+    void testIsScalingBenchmark() {
+        assertTrue(ProcessResults.isScalingBenchmark(
+                "org.apache.poi.benchmark.suite.XSSFScalingBenchmarks.benchmark(cols=20,rows=10000)"));
+        assertFalse(ProcessResults.isScalingBenchmark(
+                "org.apache.poi.benchmark.suite.ShardedTestBenchmarks.benchmarkTestIntegrationSharded(shards=4)"));
+        assertFalse(ProcessResults.isScalingBenchmark(
+                "org.apache.poi.benchmark.suite.XSSFColdStartBenchmarks.benchmark(action=read,schemas=lite)"));
+        assertFalse(ProcessResults.isScalingBenchmark(
+                "org.apache.poi.benchmark.suite.SSPerformanceBenchmarks.benchmarkXSSFPerformance"));
+    }
+
+    @Test
+    void testFindSweepDays() {
+        String prefix = "org.apache.poi.benchmark.suite.XSSFScalingBenchmarks.benchmark";
+        Map<String, BenchmarkSeries> values = new HashMap<>();
+        values.put("org.apache.poi.benchmark.suite.BuildBenchmarks.benchmarkCompileAll",
+                new BenchmarkSeries(new int[] { 1, 2, 3, 4, 5 }, new double[] { 1, 1, 1, 1, 1 }));
+        assertTrue(ProcessResults.findSweepDays(values, 2).isEmpty());
+
+        // the nightly point on every day, a sweep on day 2 and 4
+        values.put(prefix + "(cols=20,rows=10000)",
+                new BenchmarkSeries(new int[] { 1, 2, 3, 4, 5 }, new double[] { 10, 10, 10, 10, 10 }));
+        assertTrue(ProcessResults.findSweepDays(values, 2).isEmpty());
+
+        values.put(prefix + "(cols=20,rows=30000)", new BenchmarkSeries(new int[] { 2, 4 }, new double[] { 30, 40 }));
+        assertEquals(Arrays.asList(4, 2), ProcessResults.findSweepDays(values, 2));
+        assertEquals(Collections.singletonList(4), ProcessResults.findSweepDays(values, 1));
+
+        // a sweep of the other parameter
+        values.put(prefix + "(cols=5,rows=10000)", new BenchmarkSeries(new int[] { 3 }, new double[] { 5 }));
+        assertEquals(Arrays.asList(4, 3, 2), ProcessResults.findSweepDays(values, 5));
+    }
+}
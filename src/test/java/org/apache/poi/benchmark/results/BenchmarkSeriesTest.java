@@ -0,0 +1,91 @@
+package org.apache.poi.benchmark.results;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BenchmarkSeriesTest {
+    @Test
+    void testOf() {
+        Map<String, Double> values = new HashMap<>();
+        values.put("2016-05-02", 2.0);
+        values.put("2016-04-30", 1.0);
+        values.put("2016-05-10", 3.0);
+
+        BenchmarkSeries series = BenchmarkSeries.of(values);
+        assertEquals(3, series.size());
+        assertFalse(series.isEmpty());
+        assertEquals("2016-04-30", BenchmarkSeries.toDate(series.getFirstDay()));
+        assertEquals("2016-05-10", BenchmarkSeries.toDate(series.getLastDay()));
+        assertEquals(1.0, series.getValue(0));
+        assertEquals(2.0, series.getValue(1));
+        assertEquals(3.0, series.getValue(2));
+
+        assertTrue(series.hasValue(BenchmarkSeries.toEpochDay("2016-05-02")));
+        assertFalse(series.hasValue(BenchmarkSeries.toEpochDay("2016-05-01")));
+        assertEquals(2.0, series.getValueForDay(BenchmarkSeries.toEpochDay("2016-05-02")));
+        assertTrue(Double.isNaN(series.getValueForDay(BenchmarkSeries.toEpochDay("2016-05-01"))));
+
+        assertTrue(series.toString().contains("2016-05-10"), series.toString());
+    }
+
+    @Test
+    void testSlice() {
+        BenchmarkSeries series = new BenchmarkSeries(new int[] { 10, 12, 13, 20 }, new double[] { 1, 2, 3, 4 });
+
+        BenchmarkSeries slice = series.slice(11, 13);
+        assertEquals(2, slice.size());
+        assertEquals(12, slice.getFirstDay());
+        assertEquals(13, slice.getLastDay());
+        assertEquals(0, slice.indexOf(12));
+        assertEquals(-1, slice.indexOf(11));
+        assertEquals(-3, slice.indexOf(14));
+        assertFalse(slice.hasValue(10));
+        assertFalse(slice.hasValue(20));
+        assertEquals(new BenchmarkSeries(new int[] { 12, 13 }, new double[] { 2, 3 }), slice);
+        assertEquals(new BenchmarkSeries(new int[] { 12, 13 }, new double[] { 2, 3 }).hashCode(), slice.hashCode());
+        assertNotEquals(series, slice);
+
+        assertEquals(series, series.slice(0, 100));
+        assertTrue(series.slice(14, 19).isEmpty());
+        assertTrue(series.slice(21, 30).isEmpty());
+        assertTrue(series.slice(13, 12).isEmpty());
+        assertEquals(1, slice.slice(13, 100).size());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> slice.getValue(2));
+    }
+
+    @Test
+    void testWithValue() {
+        BenchmarkSeries series = new BenchmarkSeries(new int[] { 10, 12, 13, 20 }, new double[] { 1, 2, 3, 4 });
+
+        assertEquals(new BenchmarkSeries(new int[] { 10, 12, 13, 20, 21 }, new double[] { 1, 2, 3, 4, 5 }),
+                series.withValue(21, 5));
+        assertEquals(new BenchmarkSeries(new int[] { 9, 10, 12, 13, 20 }, new double[] { 5, 1, 2, 3, 4 }),
+                series.withValue(9, 5));
+        assertEquals(new BenchmarkSeries(new int[] { 10, 12, 13, 20 }, new double[] { 1, 2, 5, 4 }),
+                series.withValue(13, 5));
+        assertEquals(4.0, series.getValueForDay(20), "Should not change the original series");
+
+        assertEquals(new BenchmarkSeries(new int[] { 12, 13, 14 }, new double[] { 2, 3, 5 }),
+                series.slice(11, 13).withValue(14, 5));
+        assertEquals(new BenchmarkSeries(new int[] { 12 }, new double[] { 5 }),
+                series.slice(11, 12).withValue(12, 5));
+        assertEquals(new BenchmarkSeries(new int[] { 1 }, new double[] { 5 }),
+                series.slice(14, 19).withValue(1, 5));
+    }
+
+    @Test
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new BenchmarkSeries(new int[] { 1 }, new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> new BenchmarkSeries(new int[] { 2, 1 }, new double[2]));
+        assertThrows(IllegalArgumentException.class, () -> new BenchmarkSeries(new int[] { 1, 1 }, new double[2]));
+    }
+}
@@ -0,0 +1,122 @@
+package org.apache.poi.benchmark.results;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangePointDetectorTest {
+    private static final int START = BenchmarkSeries.toEpochDay("2026-01-01");
+
+    private static BenchmarkSeries series(double... values) {
+        int[] days = new int[values.length];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = START + i;
+        }
+        return new BenchmarkSeries(days, values);
+    }
+
+    private static double[] noisy(Random random, int count, double value) {
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = value * (1 + random.nextGaussian() * 0.02);
+        }
+        return values;
+    }
+
+    private static double[] concat(double[]... parts) {
+        int length = 0;
+        for (double[] part : parts) {
+            length += part.length;
+        }
+
+        double[] values = new double[length];
+        int pos = 0;
+        for (double[] part : parts) {
+            System.arraycopy(part, 0, values, pos, part.length);
+            pos += part.length;
+        }
+        return values;
+    }
+
+    @Test
+    void testSteps() {
+        Random random = new Random(42);
+        BenchmarkSeries series = series(concat(
+                noisy(random, 60, 1000), noisy(random, 40, 1300), noisy(random, 50, 900)));
+
+        List<ChangePointDetector.Step> steps = new ChangePointDetector().findSteps(series);
+        assertEquals(2, steps.size(), "Had: " + steps);
+
+        ChangePointDetector.Step step = steps.get(0);
+        assertEquals(START + 59, step.getPreviousDay());
+        assertEquals(START + 60, step.getDay());
+        assertEquals(1000, step.getBefore(), 20);
+        assertEquals(1300, step.getAfter(), 20);
+        assertEquals(0.3, step.getRelativeChange(), 0.03);
+        assertTrue(step.getScore() > ChangePointDetector.DEFAULT_THRESHOLD, "Had: " + step);
+
+        step = steps.get(1);
+        assertEquals(START + 100, step.getDay());
+        assertEquals(1300, step.getBefore(), 20);
+        assertEquals(900, step.getAfter(), 20);
+        assertTrue(step.getRelativeChange() < 0, "Had: " + step);
+    }
+
+    @Test
+    void testNoSteps() {
+        Random random = new Random(42);
+        ChangePointDetector detector = new ChangePointDetector();
+
+        assertTrue(detector.findSteps(series()).isEmpty());
+        assertTrue(detector.findSteps(series(1, 2, 3)).isEmpty());
+        assertTrue(detector.findSteps(series(noisy(random, 200, 1000))).isEmpty());
+
+        // a single outlier is not a step
+        double[] values = noisy(random, 100, 1000);
+        values[50] = 10000;
+        assertTrue(detector.findSteps(series(values)).isEmpty());
+
+        // small relative changes are ignored even if they are significant
+        assertTrue(detector.findSteps(series(concat(noisy(random, 50, 1000), noisy(random, 50, 1050)))).isEmpty());
+    }
+
+    @Test
+    void testConstantValues() {
+        List<ChangePointDetector.Step> steps = new ChangePointDetector().findSteps(series(concat(
+                new double[] { 5, 5, 5, 5, 5, 5, 5, 5, 5, 5 }, new double[] { 8, 8, 8, 8, 8, 8, 8, 8 })));
+        assertEquals(1, steps.size(), "Had: " + steps);
+        assertEquals(START + 10, steps.get(0).getDay());
+        assertEquals(5, steps.get(0).getBefore());
+        assertEquals(8, steps.get(0).getAfter());
+    }
+
+    @Test
+    void testOutliers() {
+        Random random = new Random(42);
+        double[] values = noisy(random, 100, 1000);
+        values[30] = 2000;
+        values[70] = 500;
+
+        List<ChangePointDetector.Outlier> outliers = new ChangePointDetector().findOutliers(series(values), 14);
+        assertEquals(2, outliers.size(), "Had: " + outliers);
+        assertEquals(START + 30, outliers.get(0).getDay());
+        assertEquals(2000, outliers.get(0).getValue());
+        assertEquals(1000, outliers.get(0).getMedian(), 20);
+        assertTrue(outliers.get(0).getScore() > 0);
+        assertEquals(START + 70, outliers.get(1).getDay());
+        assertTrue(outliers.get(1).getScore() < 0);
+
+        assertTrue(new ChangePointDetector().findOutliers(series(1, 2, 3), 14).isEmpty());
+    }
+
+    @Test
+    void testMedian() {
+        assertTrue(Double.isNaN(ChangePointDetector.median(new double[0], 0, 0)));
+        assertEquals(2.0, ChangePointDetector.median(new double[] { 9, 3, 1, 2, 9 }, 1, 4));
+        assertEquals(2.5, ChangePointDetector.median(new double[] { 4, 1, 3, 2 }, 0, 4));
+    }
+}
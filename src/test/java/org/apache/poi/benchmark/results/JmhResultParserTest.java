@@ -0,0 +1,122 @@
+package org.apache.poi.benchmark.results;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.filefilter.SuffixFileFilter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JmhResultParserTest {
+    private static final String JSON = "[\n" +
+            "  {\n" +
+            "    \"benchmark\": \"org.apache.poi.benchmark.suite.BuildBenchmarks.benchmarkCompileAll\",\n" +
+            "    \"mode\": \"ss\",\n" +
+            "    \"jvmArgs\": [ \"-Xmx16m\" ],\n" +
+            "    \"primaryMetric\": {\n" +
+            "      \"score\": 364599.047274,\n" +
+            "      \"scoreError\": \"NaN\",\n" +
+            "      \"scorePercentiles\": { \"0.0\": 364599.047274, \"100.0\": 364599.047274 },\n" +
+            "      \"rawData\": [ [ 364599.047274 ] ]\n" +
+            "    },\n" +
+            "    \"secondaryMetrics\": {\n" +
+            "      \"cpu.user\": { \"score\": 123.5, \"scoreUnit\": \"ms\", \"rawData\": [ [ 123.5 ] ] },\n" +
+            "      \"rss.peak\": { \"score\": \"NaN\" }\n" +
+            "    }\n" +
+            "  },\n" +
+            "  {\n" +
+            "    \"primaryMetric\": { \"rawData\": [ [ 1, 2 ] ], \"score\": 42 },\n" +
+            "    \"benchmark\": \"second\"\n" +
+            "  }\n" +
+            "]\n";
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testParse() throws IOException {
+        File file = new File(tempDir, "2020-01-01-results.json");
+        FileUtils.writeStringToFile(file, JSON, "UTF-8");
+
+        List<BenchmarkResult> results = new JmhResultParser().parse(file);
+        assertEquals(2, results.size());
+        assertEquals("org.apache.poi.benchmark.suite.BuildBenchmarks.benchmarkCompileAll", results.get(0).getBenchmark());
+        assertEquals(364599.047274, results.get(0).getScore());
+        assertTrue(results.get(0).getSecondaryMetrics().isEmpty());
+        assertEquals("second", results.get(1).getBenchmark());
+        assertEquals(42.0, results.get(1).getScore());
+
+        results = new JmhResultParser(true).parse(file);
+        assertEquals(2, results.size());
+        Map<String, Double> secondaryMetrics = results.get(0).getSecondaryMetrics();
+        assertEquals(2, secondaryMetrics.size());
+        assertEquals(123.5, secondaryMetrics.get("cpu.user"));
+        assertTrue(secondaryMetrics.get("rss.peak").isNaN());
+        assertTrue(results.get(1).getSecondaryMetrics().isEmpty());
+        assertNotNull(results.get(1).toString());
+    }
+
+    @Test
+    void testInvalid() throws IOException {
+        File file = new File(tempDir, "invalid-results.json");
+
+        FileUtils.writeStringToFile(file, "{}", "UTF-8");
+        assertThrows(IOException.class, () -> new JmhResultParser().parse(file));
+
+        FileUtils.writeStringToFile(file, "[ { \"benchmark\": \"abc\" } ]", "UTF-8");
+        assertThrows(IOException.class, () -> new JmhResultParser().parse(file));
+    }
+
+    @Test
+    void testSameAsTreeBinding() throws IOException {
+        File resultsDir = new File("results");
+        File[] files = resultsDir.listFiles((FilenameFilter) new SuffixFileFilter("-results.json"));
+        assertNotNull(files);
+
+        ObjectMapper mapper = new ObjectMapper();
+        for (int i = 0; i < files.length; i += 50) {
+            //noinspection unchecked
+            Map<String, Object>[] entries = mapper.readValue(files[i], Map[].class);
+            List<BenchmarkResult> results = new JmhResultParser(true).parse(files[i]);
+
+            assertEquals(entries.length, results.size());
+            for (int j = 0; j < entries.length; j++) {
+                //noinspection unchecked
+                Map<String, Object> primaryMetric = (Map<String, Object>) entries[j].get("primaryMetric");
+
+                assertEquals(entries[j].get("benchmark"), results.get(j).getBenchmark());
+                assertEquals(Double.parseDouble(primaryMetric.get("score").toString()), results.get(j).getScore(),
+                        "Failed for " + files[i]);
+            }
+        }
+    }
+
+    @Test
+    void testParams() throws IOException {
+        File file = new File(tempDir, "2020-01-01-results.json");
+        FileUtils.writeStringToFile(file, "[ { \"benchmark\": \"a.b.benchmark\", \"mode\": \"ss\",\n" +
+                "\"params\": { \"cols\": \"20\", \"rows\": \"10000\" },\n" +
+                "\"primaryMetric\": { \"score\": 12 } } ]", "UTF-8");
+
+        List<BenchmarkResult> results = new JmhResultParser().parse(file);
+        assertEquals(1, results.size());
+
+        String key = results.get(0).getBenchmark();
+        assertEquals("a.b.benchmark(cols=20,rows=10000)", key);
+        assertEquals("a.b.benchmark", JmhResultParser.getName(key));
+        assertEquals("{cols=20, rows=10000}", JmhResultParser.getParams(key).toString());
+
+        assertEquals("a.b.benchmark", JmhResultParser.getName("a.b.benchmark"));
+        assertTrue(JmhResultParser.getParams("a.b.benchmark").isEmpty());
+    }
+}
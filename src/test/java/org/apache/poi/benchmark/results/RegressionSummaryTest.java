@@ -0,0 +1,66 @@
+package org.apache.poi.benchmark.results;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegressionSummaryTest {
+    @Test
+    void testCompare() {
+        List<RegressionSummary.Row> rows = RegressionSummary.compare(ImmutableMap.of(
+                        "a", new BenchmarkSeries(new int[] { 1, 95, 96, 97, 100 }, new double[] { 500, 10, 12, 11, 99 }),
+                        "b", new BenchmarkSeries(new int[] { 98, 99 }, new double[] { 20, 20 }),
+                        "removed", new BenchmarkSeries(new int[] { 50 }, new double[] { 1 })),
+                ImmutableMap.of("a", 13.2, "b", 19.0, "new", 5.0),
+                100, 7);
+
+        assertEquals(3, rows.size(), "Had: " + rows);
+
+        RegressionSummary.Row row = rows.get(0);
+        assertEquals("a", row.getBenchmark());
+        assertEquals(13.2, row.getLatest());
+        assertEquals(11.0, row.getBaseline(), "Should only use the baseline days before the given day");
+        assertEquals(3, row.getBaselineCount());
+        assertEquals(0.2, row.getRelativeChange(), 0.0001);
+        assertTrue(row.exceeds(0.1));
+        assertFalse(row.exceeds(0.25));
+        assertFalse(row.isMissing());
+
+        row = rows.get(1);
+        assertEquals("b", row.getBenchmark());
+        assertEquals(-0.05, row.getRelativeChange(), 0.0001);
+        assertFalse(row.exceeds(0.1));
+
+        row = rows.get(2);
+        assertEquals("new", row.getBenchmark());
+        assertTrue(Double.isNaN(row.getBaseline()));
+        assertEquals(0, row.getBaselineCount());
+        assertFalse(row.exceeds(0.1));
+        assertFalse(row.isMissing());
+    }
+
+    @Test
+    void testMissing() {
+        List<RegressionSummary.Row> rows = RegressionSummary.compare(ImmutableMap.of(
+                        "a", new BenchmarkSeries(new int[] { 98, 99 }, new double[] { 20, 20 })),
+                Collections.emptyMap(), 100, 7);
+
+        assertEquals(1, rows.size());
+        assertTrue(rows.get(0).isMissing());
+        assertEquals(20, rows.get(0).getBaseline());
+        assertFalse(rows.get(0).exceeds(0.1));
+    }
+
+    @Test
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RegressionSummary.compare(Collections.emptyMap(), Collections.emptyMap(), 100, 0));
+    }
+}
@@ -0,0 +1,104 @@
+package org.apache.poi.benchmark.results;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.filefilter.SuffixFileFilter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultsIndexTest {
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testEmpty() throws IOException {
+        ResultsIndex index = new ResultsIndex(new File(tempDir, "results.idx"));
+        assertNull(index.getHighWaterMark());
+        assertEquals(0, index.update(new File[0]));
+        assertNull(index.getHighWaterMark());
+    }
+
+    @Test
+    void testIncrementalUpdate() throws IOException {
+        File[] files = getFiles(5);
+
+        ResultsIndex index = new ResultsIndex(new File(tempDir, "sub/results.idx"));
+        assertEquals(3, index.update(Arrays.copyOf(files, 3)));
+        assertEquals(files[2].getName().replace("-results.json", ""), index.getHighWaterMark());
+
+        // only the newer files are added
+        assertEquals(2, index.update(files));
+        assertEquals(0, index.update(files));
+        assertEquals(files[4].getName().replace("-results.json", ""), index.getHighWaterMark());
+
+        checkSameAsFiles(index, files);
+    }
+
+    @Test
+    void testTruncatedSegment() throws IOException {
+        File[] files = getFiles(3);
+
+        File indexFile = new File(tempDir, "results.idx");
+        ResultsIndex index = new ResultsIndex(indexFile);
+        assertEquals(2, index.update(Arrays.copyOf(files, 2)));
+
+        // simulate an incomplete write of a segment
+        try (FileOutputStream out = new FileOutputStream(indexFile, true)) {
+            out.write(new byte[] { 0x50, 0x4F, 0x49, 0x01, 0x00, 0x00, 0x10, 0x00, 0x00 });
+        }
+
+        assertEquals(files[1].getName().replace("-results.json", ""), index.getHighWaterMark());
+
+        assertEquals(1, index.update(files));
+        checkSameAsFiles(index, files);
+    }
+
+    @Test
+    void testFilesWithoutResults() throws IOException {
+        // like e.g. results/2016-05-01-results.json, written by a run where all benchmarks failed
+        File first = new File(tempDir, "1999-12-30-results.json");
+        File second = new File(tempDir, "1999-12-31-results.json");
+        FileUtils.writeStringToFile(first, "[\n]", StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(second, "[]", StandardCharsets.UTF_8);
+
+        ResultsIndex index = new ResultsIndex(new File(tempDir, "results.idx"));
+        assertEquals(2, index.update(new File[] { first, second }));
+        assertEquals("1999-12-31", index.getHighWaterMark());
+        assertTrue(index.readSeries().isEmpty());
+
+        // later updates are not blocked by the empty segment
+        File[] files = getFiles(2);
+        File[] all = new File[] { first, second, files[0], files[1] };
+        assertEquals(2, index.update(all));
+        assertEquals(files[1].getName().replace("-results.json", ""), index.getHighWaterMark());
+
+        checkSameAsFiles(index, all);
+    }
+
+    private static File[] getFiles(int count) {
+        File resultsDir = new File("results");
+        File[] files = resultsDir.listFiles((FilenameFilter) new SuffixFileFilter("-results.json"));
+        assertNotNull(files);
+
+        Arrays.sort(files);
+        return Arrays.copyOf(files, count);
+    }
+
+    private static void checkSameAsFiles(ResultsIndex index, File[] files) throws IOException {
+        Results expected = new Results();
+        expected.readFiles(files);
+
+        assertEquals(expected.getSeries(), index.readSeries());
+    }
+}
@@ -1,7 +1,9 @@
 package org.apache.poi.benchmark.results;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.SuffixFileFilter;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.io.FilenameFilter;
@@ -11,6 +13,9 @@ import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 
 class ResultsTest {
+    @TempDir
+    File tempDir;
+
     @Test
     void testOneFile() throws IOException {
         Results results = new Results();
@@ -27,4 +32,49 @@ class ResultsTest {
         assertNotNull(values);
         assertTrue(values.size() > 0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testParallel() throws IOException {
+        File resultsDir = new File("results");
+        File[] files = resultsDir.listFiles((FilenameFilter) new SuffixFileFilter("-results.json"));
+        assertNotNull(files);
+
+        Results serial = new Results();
+        String serialDate = serial.readFiles(files);
+
+        for (int parallelism : new int[] { 1, 2, 7 }) {
+            Results parallel = new Results();
+            assertEquals(serialDate, parallel.readFiles(files, parallelism));
+            assertEquals(serial.getValues(), parallel.getValues());
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new Results().readFiles(files, 0));
+    }
+
+    @Test
+    void testParallelInvalidFile() {
+        File[] files = new File[100];
+        for (int i = 0; i < files.length; i++) {
+            files[i] = new File("results/" + i + "-not-existing-results.json");
+        }
+
+        assertThrows(IOException.class, () -> new Results().readFiles(files, 4));
+    }
+
+    @Test
+    void testRevision() throws IOException {
+        File withRevision = new File(tempDir, "2020-01-02-results.json");
+        FileUtils.writeStringToFile(withRevision, "[{\"benchmark\": \"a\", \"primaryMetric\": { \"score\": 1 },\n" +
+                "\"secondaryMetrics\": { \"svn.revision\": { \"score\": 1915123.0 } } }]", "UTF-8");
+        File withoutRevision = new File(tempDir, "2020-01-01-results.json");
+        FileUtils.writeStringToFile(withoutRevision, "[{\"benchmark\": \"a\", \"primaryMetric\": { \"score\": 2 } }]", "UTF-8");
+
+        Results results = new Results();
+        assertEquals("2020-01-02", results.readFiles(new File[] { withoutRevision, withRevision }));
+
+        Map<String, Map<String, Double>> values = results.getValues();
+        assertEquals(2, values.get("a").size());
+        assertEquals(1, values.get(Results.REVISION).size());
+        assertEquals(1915123.0, values.get(Results.REVISION).get("2020-01-02"));
+    }
+}
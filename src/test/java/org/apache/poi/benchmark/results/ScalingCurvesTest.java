@@ -0,0 +1,61 @@
+package org.apache.poi.benchmark.results;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScalingCurvesTest {
+    @Test
+    void testFitExponent() {
+        assertEquals(1, ScalingCurves.fitExponent(new double[] { 10, 100, 1000 }, new double[] { 2, 20, 200 }), 1e-9);
+        assertEquals(2, ScalingCurves.fitExponent(new double[] { 10, 100, 1000 }, new double[] { 1, 100, 10000 }), 1e-9);
+        assertEquals(0, ScalingCurves.fitExponent(new double[] { 1, 2 }, new double[] { 5, 5 }), 1e-9);
+        assertTrue(Double.isNaN(ScalingCurves.fitExponent(new double[] { 3, 3 }, new double[] { 1, 2 })));
+
+        assertThrows(IllegalArgumentException.class, () -> ScalingCurves.fitExponent(new double[] { 1 }, new double[] { 1 }));
+    }
+
+    @Test
+    void testCurves() {
+        Map<String, Double> results = new TreeMap<>();
+        results.put("a.benchmark(cols=5,rows=10000)", 100.0);
+        results.put("a.benchmark(cols=5,rows=100000)", 1000.0);
+        results.put("a.benchmark(cols=5,rows=1000000)", 10000.0);
+        results.put("a.benchmark(cols=20,rows=10000)", 400.0);
+        results.put("a.benchmark(cols=20,rows=100000)", 40000.0);
+        // only one point
+        results.put("a.benchmark(cols=200,rows=10000)", 4000.0);
+        // not part of a sweep
+        results.put("b.benchmark", 1.0);
+        results.put("c.benchmark(shards=4)", 1.0);
+
+        List<ScalingCurves.Curve> curves = ScalingCurves.curves(results, "rows");
+        assertEquals(2, curves.size(), "Had: " + curves);
+
+        ScalingCurves.Curve curve = curves.get(0);
+        assertEquals("a.benchmark(cols=20)", curve.getName());
+        assertEquals("rows", curve.getParam());
+        assertArrayEquals(new double[] { 10000, 100000 }, curve.getX());
+        assertArrayEquals(new double[] { 400, 40000 }, curve.getY());
+        assertEquals(2, curve.getExponent(), 1e-9);
+
+        curve = curves.get(1);
+        assertEquals("a.benchmark(cols=5)", curve.getName());
+        assertArrayEquals(new double[] { 10000, 100000, 1000000 }, curve.getX());
+        assertEquals(1, curve.getExponent(), 1e-9);
+
+        curves = ScalingCurves.curves(results, "cols");
+        assertEquals(2, curves.size(), "Had: " + curves);
+        assertEquals("a.benchmark(rows=10000)", curves.get(0).getName());
+        assertArrayEquals(new double[] { 5, 20, 200 }, curves.get(0).getX());
+
+        assertTrue(ScalingCurves.curves(results, "threads").isEmpty());
+    }
+}
@@ -0,0 +1,73 @@
+package org.apache.poi.benchmark.results;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TestTimingsTest {
+    private static final String REPORT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+            "<testsuite name=\"org.apache.poi.TestSample\" tests=\"3\" skipped=\"0\" failures=\"0\" errors=\"0\" " +
+            "timestamp=\"2026-10-17T01:02:03\" hostname=\"host\" time=\"1.5\">\n" +
+            "  <properties/>\n" +
+            "  <testcase name=\"testSlow()\" classname=\"org.apache.poi.TestSample\" time=\"1.2\"/>\n" +
+            "  <testcase name=\"[1] file &lt;a&gt;.xls\" classname=\"org.apache.poi.TestSample\" time=\"0.25\">\n" +
+            "    <skipped/>\n" +
+            "  </testcase>\n" +
+            "  <testcase name=\"testFast()\" classname=\"org.apache.poi.TestSample\" time=\"0.001\"/>\n" +
+            "  <system-out><![CDATA[some <output> of the test]]></system-out>\n" +
+            "  <system-err><![CDATA[]]></system-err>\n" +
+            "</testsuite>\n";
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testParse() throws IOException {
+        File report = new File(tempDir, "TEST-org.apache.poi.TestSample.xml");
+        FileUtils.writeStringToFile(report, REPORT, "UTF-8");
+        File report2 = new File(tempDir, "TEST-org.apache.poi.TestOther.xml");
+        FileUtils.writeStringToFile(report2, "<testsuite name=\"org.apache.poi.TestOther\" time=\"0.5\">" +
+                "<testcase name=\"test()\" classname=\"org.apache.poi.TestOther\" time=\"0.5\"/></testsuite>", "UTF-8");
+
+        TestTimings timings = new TestTimings("poi");
+        timings.addReport(report);
+        timings.addReport(report2);
+
+        assertEquals("poi", timings.getModule());
+        assertEquals(2, timings.getClasses().size());
+        assertEquals(1.5, timings.getClasses().get("org.apache.poi.TestSample"));
+        assertEquals(0.5, timings.getClasses().get("org.apache.poi.TestOther"));
+
+        assertEquals(3, timings.getTests().size());
+        assertEquals(1.2, timings.getTests().get("org.apache.poi.TestSample.testSlow()"));
+        assertEquals(0.25, timings.getTests().get("org.apache.poi.TestSample.[1] file <a>.xls"));
+        assertFalse(timings.getTests().containsKey("org.apache.poi.TestSample.testFast()"),
+                "Short tests are not included");
+
+        File file = new File(tempDir, "timings.json");
+        timings.write(file);
+
+        TestTimings read = TestTimings.read(file);
+        assertEquals("poi", read.getModule());
+        assertEquals(timings.getClasses(), read.getClasses());
+        assertEquals(timings.getTests(), read.getTests());
+    }
+
+    @Test
+    void testInvalid() throws IOException {
+        File report = new File(tempDir, "TEST-invalid.xml");
+        FileUtils.writeStringToFile(report, "<testsuite name=\"abc\" time=\"1.0\"><testcase", "UTF-8");
+
+        assertThrows(IOException.class, () -> new TestTimings("poi").addReport(report));
+
+        FileUtils.writeStringToFile(report, "<testsuite name=\"abc\" time=\"abc\"/>", "UTF-8");
+        assertThrows(IOException.class, () -> new TestTimings("poi").addReport(report));
+    }
+}
@@ -0,0 +1,50 @@
+package org.apache.poi.benchmark.results;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopMoversTest {
+    @Test
+    void testCompare() {
+        List<TopMovers.Entry> entries = TopMovers.compare("poi",
+                ImmutableMap.of("a", 10.0, "b", 5.0, "c", 1.0, "new", 20.0),
+                Arrays.asList(
+                        ImmutableMap.of("a", 4.0, "b", 6.0, "c", 1.0),
+                        ImmutableMap.of("a", 5.0, "b", 6.0),
+                        ImmutableMap.of("a", 100.0, "c", 0.5)));
+
+        assertEquals(4, entries.size());
+
+        List<TopMovers.Entry> slowest = TopMovers.slowest(entries, 2);
+        assertEquals(2, slowest.size());
+        assertEquals("new", slowest.get(0).getName());
+        assertEquals("a", slowest.get(1).getName());
+        assertEquals("poi", slowest.get(1).getModule());
+
+        List<TopMovers.Entry> regressed = TopMovers.mostRegressed(entries, 10);
+        assertEquals(2, regressed.size(), "Should not include faster or new tests: " + regressed);
+        assertEquals("a", regressed.get(0).getName());
+        assertEquals(5.0, regressed.get(0).getBaseline());
+        assertEquals(5.0, regressed.get(0).getDelta());
+        assertEquals("c", regressed.get(1).getName());
+        assertEquals(0.75, regressed.get(1).getBaseline());
+
+        assertTrue(TopMovers.mostRegressed(TopMovers.compare("poi", ImmutableMap.of("a", 1.0),
+                Collections.emptyList()), 10).isEmpty());
+    }
+
+    @Test
+    void testMedian() {
+        assertTrue(Double.isNaN(TopMovers.median(new double[0], 0)));
+        assertEquals(3.0, TopMovers.median(new double[] { 3.0, 99.0 }, 1));
+        assertEquals(2.0, TopMovers.median(new double[] { 3.0, 1.0, 2.0 }, 3));
+        assertEquals(2.5, TopMovers.median(new double[] { 4.0, 1.0, 3.0, 2.0 }, 4));
+    }
+}
@@ -0,0 +1,73 @@
+package org.apache.poi.benchmark.source;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotCopyTest {
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testPrepare() throws IOException {
+        File snapshot = new File(tempDir, "snapshot");
+        File dir = new File(tempDir, "sources");
+
+        AtomicInteger updates = new AtomicInteger();
+        SourceProvider origin = new SourceProvider() {
+            @Override
+            public void prepare(File target) throws IOException {
+                updates.incrementAndGet();
+                FileUtils.writeStringToFile(new File(target, "build.gradle"), "build", "UTF-8");
+                FileUtils.writeStringToFile(new File(target, "test-data/spreadsheet/a.xls"), "xls", "UTF-8");
+                FileUtils.writeStringToFile(new File(target, ".svn/pristine/ab/abc.svn-base"), "pristine", "UTF-8");
+                FileUtils.writeStringToFile(new File(target, ".svn/wc.db"), "db", "UTF-8");
+                FileUtils.writeStringToFile(new File(target, "test-data-other/b.txt"), "other", "UTF-8");
+            }
+
+            @Override
+            public long getRevision() {
+                return updates.get() == 0 ? -1 : 1234;
+            }
+        };
+
+        SnapshotCopy provider = new SnapshotCopy(origin, snapshot, SnapshotCopy.DEFAULT_LINKED);
+        assertEquals(-1, provider.getRevision());
+        provider.prepare(dir);
+
+        assertEquals(1, updates.get());
+        assertEquals(1234, provider.getRevision());
+        assertEquals("build", FileUtils.readFileToString(new File(dir, "build.gradle"), "UTF-8"));
+        assertEquals("xls", FileUtils.readFileToString(new File(dir, "test-data/spreadsheet/a.xls"), "UTF-8"));
+
+        assertTrue(isSameFile(snapshot, dir, "test-data/spreadsheet/a.xls"));
+        assertTrue(isSameFile(snapshot, dir, ".svn/pristine/ab/abc.svn-base"));
+        assertFalse(isSameFile(snapshot, dir, ".svn/wc.db"));
+        assertFalse(isSameFile(snapshot, dir, "build.gradle"));
+        assertFalse(isSameFile(snapshot, dir, "test-data-other/b.txt"), "Only whole path-elements are matched");
+
+        // changes and build-outputs are removed by the next copy, the snapshot is not changed
+        FileUtils.writeStringToFile(new File(dir, "build.gradle"), "changed", "UTF-8");
+        FileUtils.writeStringToFile(new File(dir, "build/output.txt"), "output", "UTF-8");
+
+        provider.prepare(dir);
+
+        assertEquals(1, updates.get(), "The snapshot is only updated once");
+        assertEquals("build", FileUtils.readFileToString(new File(dir, "build.gradle"), "UTF-8"));
+        assertEquals("build", FileUtils.readFileToString(new File(snapshot, "build.gradle"), "UTF-8"));
+        assertFalse(new File(dir, "build").exists());
+    }
+
+    private static boolean isSameFile(File snapshot, File dir, String path) throws IOException {
+        return Files.isSameFile(new File(snapshot, path).toPath(), new File(dir, path).toPath());
+    }
+}
@@ -0,0 +1,108 @@
+package org.apache.poi.benchmark.source;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Uses a local "file://" repository, skipped if svn is not installed.
+ */
+class SvnCheckoutTest {
+    private static final long TIMEOUT = TimeUnit.MINUTES.toMillis(1);
+
+    @TempDir
+    File tempDir;
+
+    @BeforeAll
+    static void checkSvn() throws InterruptedException {
+        assumeTrue(isInstalled("svn") && isInstalled("svnadmin"), "svn is not installed");
+    }
+
+    private static boolean isInstalled(String command) throws InterruptedException {
+        try {
+            return new ProcessBuilder(command, "--version", "--quiet").start().waitFor() == 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private String createRepository(String name, String file) throws IOException {
+        File repository = new File(tempDir, name);
+        Svn.run(tempDir, TIMEOUT, "svnadmin", "create", repository.getAbsolutePath());
+
+        File content = new File(tempDir, name + "-import");
+        FileUtils.writeStringToFile(new File(content, file), "content", "UTF-8");
+
+        String url = "file://" + repository.getAbsolutePath() + "/trunk";
+        Svn.run(tempDir, TIMEOUT, "svn", "import", "-m", "initial", content.getAbsolutePath(), url);
+        return url;
+    }
+
+    @Test
+    void testCheckoutPinnedToRevision() throws IOException {
+        String url = createRepository("repo", "a.txt");
+        File dir = new File(tempDir, "sources");
+
+        SvnCheckout provider = new SvnCheckout(url + "/", TIMEOUT);
+        assertEquals(url, provider.getUrl());
+        assertEquals(-1, provider.getRevision());
+
+        provider.prepare(dir);
+        assertTrue(new File(dir, "a.txt").exists());
+        assertFalse(new File(dir, "b.txt").exists());
+
+        // a new revision is fetched by the next update
+        File file = new File(tempDir, "b.txt");
+        FileUtils.writeStringToFile(file, "new", "UTF-8");
+        Svn.run(tempDir, TIMEOUT, "svn", "import", "-m", "add", file.getAbsolutePath(), url + "/b.txt");
+
+        provider.prepare(dir);
+        assertFalse(new File(dir, "b.txt").exists(), "The revision is pinned by the first checkout");
+        assertEquals(1, provider.getRevision());
+
+        SvnCheckout latest = new SvnCheckout(url, TIMEOUT);
+        latest.prepare(dir);
+        assertTrue(new File(dir, "b.txt").exists());
+        assertEquals(2, latest.getRevision());
+
+        // a missing file is restored even if the working copy is at the revision already
+        assertTrue(new File(dir, "a.txt").delete());
+        latest.prepare(dir);
+        assertTrue(new File(dir, "a.txt").exists());
+    }
+
+    @Test
+    void testFixedRevision() throws IOException {
+        String url = createRepository("repo", "a.txt");
+        File file = new File(tempDir, "b.txt");
+        FileUtils.writeStringToFile(file, "new", "UTF-8");
+        Svn.run(tempDir, TIMEOUT, "svn", "import", "-m", "add", file.getAbsolutePath(), url + "/b.txt");
+
+        File dir = new File(tempDir, "sources");
+        new SvnCheckout(url, 1, TIMEOUT).prepare(dir);
+        assertTrue(new File(dir, "a.txt").exists());
+        assertFalse(new File(dir, "b.txt").exists());
+    }
+
+    @Test
+    void testSwitchToMirror() throws IOException {
+        File dir = new File(tempDir, "sources");
+        new SvnCheckout(createRepository("repo", "a.txt"), TIMEOUT).prepare(dir);
+        assertTrue(new File(dir, "a.txt").exists());
+
+        // a working copy of another repository is replaced
+        new SvnMirror(createRepository("mirror", "m.txt"), -1, false, TIMEOUT).prepare(dir);
+        assertTrue(new File(dir, "m.txt").exists());
+        assertFalse(new File(dir, "a.txt").exists());
+    }
+}
@@ -0,0 +1,73 @@
+package org.apache.poi.benchmark.util;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GcLogSummaryTest {
+    private static final long MB = 1024 * 1024;
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testG1() throws IOException {
+        GcLogSummary summary = new GcLogSummary();
+        summary.addLog(new BufferedReader(new StringReader(
+                "[0.005s][info][gc,init] Heap Max Capacity: 1G\n" +
+                "[0.100s][info][gc,start    ] GC(0) Pause Young (Normal) (G1 Evacuation Pause)\n" +
+                "[0.103s][info][gc          ] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 24M->4M(256M) 3.500ms\n" +
+                "[0.300s][info][gc          ] GC(1) Pause Young (Concurrent Start) (G1 Humongous Allocation) 30M->10M(256M) 1.500ms\n" +
+                "[0.310s][info][gc          ] GC(2) Concurrent Mark Cycle 8.123ms\n" +
+                "[0.320s][info][gc          ] GC(2) Pause Remark 12M->12M(256M) 0.500ms\n" +
+                "[0.900s][info][gc,heap,exit] Heap\n" +
+                "[0.900s][info][gc,heap,exit]  garbage-first heap   total 262144K, used 20480K [0x00000000c0000000, 0x0000000100000000)\n" +
+                "[0.900s][info][gc,heap,exit]  Metaspace       used 5000K, committed 5248K, reserved 1056768K\n")));
+
+        // 24 + (30 - 4) + (12 - 10) + (20 - 12)
+        assertEquals(60 * MB, summary.getAllocatedBytes());
+        assertEquals(30 * MB, summary.getMaxHeapBytes());
+        assertEquals(5.5, summary.getPauseMillis(), 0.0001);
+        assertEquals(3, summary.getPauseCount());
+        assertEquals(1, summary.getJvmCount());
+    }
+
+    @Test
+    void testMultipleLogs() throws IOException {
+        File log1 = new File(tempDir, "gc-1.log");
+        FileUtils.writeStringToFile(log1,
+                "[0.103s][info][gc] GC(0) Pause Young (Allocation Failure) 2G->1G(4G) 100.000ms\n", "UTF-8");
+        File log2 = new File(tempDir, "gc-2.log");
+        FileUtils.writeStringToFile(log2,
+                "[0.5s][info][gc,heap,exit]  PSYoungGen      total 76288K, used 1024K\n" +
+                "[0.5s][info][gc,heap,exit]  ParOldGen       total 175104K, used 1024K\n", "UTF-8");
+
+        GcLogSummary summary = new GcLogSummary();
+        summary.addLog(log1);
+        summary.addLog(log2);
+
+        assertEquals(2048 * MB + 2 * MB, summary.getAllocatedBytes());
+        assertEquals(2048 * MB, summary.getMaxHeapBytes());
+        assertEquals(100.0, summary.getPauseMillis(), 0.0001);
+        assertEquals(1, summary.getPauseCount());
+        assertEquals(2, summary.getJvmCount());
+    }
+
+    @Test
+    void testEmpty() throws IOException {
+        GcLogSummary summary = new GcLogSummary();
+        summary.addLog(new BufferedReader(new StringReader("")));
+
+        assertEquals(0, summary.getAllocatedBytes());
+        assertEquals(0, summary.getMaxHeapBytes());
+        assertEquals(0, summary.getPauseCount());
+        assertEquals(1, summary.getJvmCount());
+    }
+}
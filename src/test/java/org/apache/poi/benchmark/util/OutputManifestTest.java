@@ -0,0 +1,44 @@
+package org.apache.poi.benchmark.util;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutputManifestTest {
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testManifest() throws IOException {
+        File manifestFile = new File(tempDir, "sub/manifest.txt");
+        File output = new File(tempDir, "output.html");
+
+        OutputManifest manifest = new OutputManifest(manifestFile);
+        assertFalse(manifest.isUpToDate(output, "abc"));
+
+        manifest.put(output, "abc");
+
+        // the output does not exist yet
+        assertFalse(manifest.isUpToDate(output, "abc"));
+
+        FileUtils.writeStringToFile(output, "some html", "UTF-8");
+        assertTrue(manifest.isUpToDate(output, "abc"));
+        assertFalse(manifest.isUpToDate(output, "def"));
+
+        manifest.write();
+
+        manifest = new OutputManifest(manifestFile);
+        assertTrue(manifest.isUpToDate(output, "abc"));
+        assertFalse(manifest.isUpToDate(output, "def"));
+        assertFalse(manifest.isUpToDate(new File(tempDir, "other.html"), "abc"));
+
+        assertTrue(output.delete());
+        assertFalse(manifest.isUpToDate(output, "abc"));
+    }
+}
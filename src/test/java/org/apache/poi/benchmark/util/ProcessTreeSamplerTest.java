@@ -0,0 +1,79 @@
+package org.apache.poi.benchmark.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ProcessTreeSamplerTest {
+    @Test
+    void testParseStat() {
+        long[] values = ProcessTreeSampler.parseStat(
+                "1234 (java (main) x) S 1 1234 1234 0 -1 4194560 100 200 0 0 57 13 25 7 20 0 30 0\n");
+        assertEquals(57, values[14 - 3]);
+        assertEquals(13, values[15 - 3]);
+        assertEquals(25, values[16 - 3]);
+        assertEquals(7, values[17 - 3]);
+    }
+
+    @Test
+    void testCpuMillis() {
+        long[] start = ProcessTreeSampler.parseStat(
+                "1234 (java) S 1 1234 1234 0 -1 4194560 100 200 0 0 57 13 25 7 20 0 30 0\n");
+        long[] end = ProcessTreeSampler.parseStat(
+                "1234 (java) S 1 1234 1234 0 -1 4194560 180 250 0 0 90 20 125 10 20 0 30 0\n");
+
+        // only the cpu-times of the finished child processes are used, in ticks of 10ms
+        assertEquals(1000, ProcessTreeSampler.cpuUserMillis(start, end));
+        assertEquals(30, ProcessTreeSampler.cpuSystemMillis(start, end));
+
+        assertEquals(0, ProcessTreeSampler.cpuUserMillis(start, start));
+        assertEquals(0, ProcessTreeSampler.cpuSystemMillis(start, start));
+    }
+
+    @Test
+    void testParseKeyValues() {
+        Map<String, Long> values = ProcessTreeSampler.parseKeyValues(
+                "Name:\tjava\n" +
+                "State:\tS (sleeping)\n" +
+                "VmHWM:\t  123456 kB\n" +
+                "VmRSS:\t  100000 kB\n" +
+                "voluntary_ctxt_switches:\t12\n" +
+                "nonvoluntary_ctxt_switches:\t3\n");
+        assertEquals(123456L, values.get("VmHWM"));
+        assertEquals(100000L, values.get("VmRSS"));
+        assertEquals(12L, values.get("voluntary_ctxt_switches"));
+        assertEquals(3L, values.get("nonvoluntary_ctxt_switches"));
+        assertFalse(values.containsKey("Name"));
+        assertFalse(values.containsKey("State"));
+
+        values = ProcessTreeSampler.parseKeyValues("rchar: 100\nread_bytes: 4096\nwrite_bytes: 0\n");
+        assertEquals(4096L, values.get("read_bytes"));
+        assertEquals(0L, values.get("write_bytes"));
+    }
+
+    @Test
+    void testSampleChildProcess() throws IOException, InterruptedException {
+        assumeTrue(ProcessTreeSampler.isSupported(), "Needs the /proc filesystem");
+
+        ProcessTreeSampler sampler = ProcessTreeSampler.start(10);
+
+        // keep the process running for a short while to let it be sampled
+        Process process = new ProcessBuilder("sh", "-c", "i=0; while [ $i -lt 100000 ]; do i=$((i+1)); done; sleep 0.2").start();
+        sampler.sample();
+        assertEquals(0, process.waitFor());
+
+        ProcessTreeSampler.Usage usage = sampler.stop();
+        assertTrue(usage.getProcessCount() >= 1, usage.toString());
+        assertTrue(usage.getPeakRssBytes() > 0, usage.toString());
+        assertTrue(usage.getMaxProcessRssBytes() > 0, usage.toString());
+        // the loop keeps the shell busy for more than one tick, the sleep blocks it
+        assertTrue(usage.getCpuUserMillis() + usage.getCpuSystemMillis() > 0, usage.toString());
+        assertTrue(usage.getVoluntaryContextSwitches() > 0, usage.toString());
+    }
+}
@@ -0,0 +1,48 @@
+package org.apache.poi.benchmark.util;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StreamingTemplateTest {
+    @Test
+    void testWrite() throws IOException {
+        StreamingTemplate template = new StreamingTemplate("<a>${first}</a>${second}\n${first}");
+
+        StringWriter out = new StringWriter();
+        template.write(out, ImmutableMap.of(
+                "first", StreamingTemplate.text("1"),
+                "second", writer -> {
+                    for (int i = 0; i < 3; i++) {
+                        writer.write("row" + i + ",");
+                    }
+                }));
+
+        assertEquals("<a>1</a>row0,row1,row2,\n1", out.toString());
+    }
+
+    @Test
+    void testNoPlaceholder() throws IOException {
+        StringWriter out = new StringWriter();
+        new StreamingTemplate("just text {}").write(out, Collections.emptyMap());
+        assertEquals("just text {}", out.toString());
+
+        out = new StringWriter();
+        new StreamingTemplate("").write(out, Collections.emptyMap());
+        assertEquals("", out.toString());
+    }
+
+    @Test
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new StreamingTemplate("abc ${def"));
+
+        StreamingTemplate template = new StreamingTemplate("${abc}");
+        assertThrows(IllegalArgumentException.class, () -> template.write(new StringWriter(), Collections.emptyMap()));
+    }
+}